@@ -5,6 +5,7 @@
 package global.namespace.truelicense.api;
 
 import global.namespace.fun.io.api.Source;
+import global.namespace.truelicense.api.auth.RepositoryIntegrityException;
 
 /**
  * Defines the life cycle management operations for license keys in consumer applications.
@@ -62,6 +63,65 @@ public interface ConsumerLicenseManager extends LicenseManagerMixin {
      */
     void verify() throws LicenseManagementException;
 
+    /**
+     * Loads the installed license key and verifies its encoded license bean like {@link #verify}, but returns the
+     * outcome as a status instead of throwing an exception if the license key is missing, tampered or its license
+     * bean is invalid.
+     * This is useful for frequent checks where an invalid license is an expected outcome, e.g. for feature gating on
+     * each request: An implementation should not allocate any exception on the expected failure paths.
+     * An exception gets thrown only if the operation fails for any other reason, e.g. an I/O error or a failing
+     * {@linkplain LicenseManagementAuthorization#clearVerify authorization check}.
+     * <p>
+     * The default implementation calls {@link #verify} and maps its exceptions, so it cannot tell if a license bean
+     * has expired or is not yet valid and returns {@link LicenseStatus#INVALID} instead.
+     * Also, it cannot tell if there is no installed license key and throws an exception instead.
+     *
+     * @return the status of the installed license key.
+     */
+    default LicenseStatus tryVerify() throws LicenseManagementException {
+        try {
+            verify();
+            return LicenseStatus.VALID;
+        } catch (LicenseValidationException e) {
+            return LicenseStatus.INVALID;
+        } catch (LicenseManagementException e) {
+            if (e.getCause() instanceof RepositoryIntegrityException) {
+                return LicenseStatus.TAMPERED;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Loads the installed license key like {@link #load}, but returns the outcome as a result instead of throwing an
+     * exception if the license key is missing or tampered.
+     * If the license key is authentic, then the result contains an unvalidated duplicate of its encoded license bean
+     * and the status of its validation.
+     * Like {@link #tryVerify}, an implementation should not allocate any exception on the expected failure paths.
+     * <p>
+     * Calling this operation performs an initial
+     * {@linkplain LicenseManagementAuthorization#clearLoad authorization check}.
+     * <p>
+     * The default implementation calls {@link #load} and then {@link #tryVerify}.
+     *
+     * @return the result of loading the installed license key.
+     */
+    default LicenseResult tryLoad() throws LicenseManagementException {
+        final License license;
+        try {
+            license = load();
+        } catch (LicenseManagementException e) {
+            if (e.getCause() instanceof RepositoryIntegrityException) {
+                return LicenseResult.of(LicenseStatus.TAMPERED, null);
+            }
+            throw e;
+        }
+        final LicenseStatus status = tryVerify();
+        return status.isAuthentic()
+                ? LicenseResult.of(status, license)
+                : LicenseResult.of(LicenseStatus.INVALID, license);
+    }
+
     /**
      * Uninstalls the installed license key.
      * <p>
@@ -70,6 +130,31 @@ public interface ConsumerLicenseManager extends LicenseManagerMixin {
      */
     void uninstall() throws LicenseManagementException;
 
+    /**
+     * Returns the number of times the license bean of a license key has been found in the cache of this consumer
+     * license manager, e.g. when {@linkplain #verify verifying} or {@linkplain #load loading} the installed license
+     * key.
+     * <p>
+     * The default implementation returns zero.
+     *
+     * @see LicenseManagementContextBuilder#cacheSize(int)
+     */
+    default long cacheHits() {
+        return 0;
+    }
+
+    /**
+     * Returns the number of times the license bean of a license key has not been found in the cache of this consumer
+     * license manager, so that the license key had to get decoded and authenticated.
+     * <p>
+     * The default implementation returns zero.
+     *
+     * @see LicenseManagementContextBuilder#cacheSize(int)
+     */
+    default long cacheMisses() {
+        return 0;
+    }
+
     /**
      * Adapts this consumer license manager so that it generally throws an {@link UncheckedLicenseManagementException}
      * instead of a (checked) {@link LicenseManagementException} if an operation fails.
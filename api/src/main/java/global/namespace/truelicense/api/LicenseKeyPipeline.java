@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.api;
+
+import global.namespace.fun.io.api.Sink;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Generates license keys in a pipeline of stages, e.g. validating the license bean, signing it, encoding the
+ * repository model, compressing and encrypting it.
+ * Each stage has its own bounded queue and worker threads, so that the stages process different license keys at the
+ * same time.
+ * The worker threads keep running until the pipeline gets {@linkplain #close() closed}.
+ * If a stage falls behind, its queue fills up and eventually blocks the stages before it and finally the caller of
+ * {@link #submit}, which provides backpressure.
+ * <p>
+ * Implementations are thread-safe.
+ *
+ * @see VendorLicenseManager#pipeline(int, int)
+ */
+public interface LicenseKeyPipeline extends AutoCloseable {
+
+    /**
+     * Submits the given license bean for generating a license key and saving it to the given sink.
+     * This method blocks while the queue of the first stage is full.
+     * <p>
+     * Calling this operation performs an initial
+     * {@linkplain LicenseManagementAuthorization#clearGenerate authorization check} in the first stage.
+     *
+     * @param bean the license bean to process.
+     *             This bean is not modified by this pipeline.
+     * @param sink the sink for saving the license key to.
+     * @return A completion stage which completes with the initialized and validated duplicate of the license bean
+     *         when the license key has been saved to the sink, or completes exceptionally with a
+     *         {@link LicenseManagementException} if any stage fails or the current thread has been interrupted while
+     *         waiting for the queue of the first stage.
+     * @throws IllegalStateException if this pipeline has been closed.
+     */
+    CompletionStage<License> submit(License bean, Sink sink);
+
+    /** Returns the metrics of the stages of this pipeline in processing order. */
+    List<StageMetrics> metrics();
+
+    /**
+     * Stops accepting new license beans, waits until all submitted license keys have been generated or failed and then
+     * stops the worker threads.
+     * This method is idempotent.
+     */
+    @Override
+    void close();
+
+    /** The metrics of a stage of a license key pipeline. */
+    interface StageMetrics {
+
+        /** Returns the name of the stage. */
+        String name();
+
+        /** Returns the number of license keys which have been processed by the stage, including any failures. */
+        long count();
+
+        /** Returns the total processing time of the stage in nanoseconds, excluding the time spent in its queue. */
+        long totalNanos();
+
+        /** Returns the maximum processing time of a license key in the stage in nanoseconds. */
+        long maxNanos();
+
+        /** Returns the average processing time of a license key in the stage in nanoseconds. */
+        default long averageNanos() {
+            final long count = count();
+            return 0 == count ? 0 : totalNanos() / count;
+        }
+
+        /** Returns the number of license keys which are currently waiting in the queue of the stage. */
+        int queued();
+    }
+}
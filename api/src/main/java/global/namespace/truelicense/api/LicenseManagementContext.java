@@ -10,7 +10,17 @@ import global.namespace.truelicense.api.codec.Codec;
 /**
  * A context for license management.
  */
-public interface LicenseManagementContext {
+public interface LicenseManagementContext extends AutoCloseable {
+
+    /**
+     * Releases any resources which have been cached by this context or the license managers built from it, e.g. by
+     * destroying any cached keys.
+     * The license managers remain usable, but may need to recreate these resources on their next use.
+     * The default implementation does nothing.
+     */
+    @Override
+    default void close() {
+    }
 
     /**
      * Returns the codec.
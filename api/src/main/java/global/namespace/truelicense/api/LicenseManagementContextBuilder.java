@@ -48,6 +48,18 @@ extends GenBuilder<LicenseManagementContext> {
      */
     LicenseManagementContextBuilder cachePeriodMillis(long cachePeriodMillis);
 
+    /**
+     * Sets the maximum number of license key sources for which a consumer license manager caches intermediate results
+     * (optional).
+     * Any positive value is valid.
+     * When the cache is full, the results for the least recently used license key source get evicted.
+     * The number of cache hits and misses is available from {@link ConsumerLicenseManager#cacheHits()} and
+     * {@link ConsumerLicenseManager#cacheMisses()}.
+     *
+     * @return {@code this}
+     */
+    LicenseManagementContextBuilder cacheSize(int cacheSize);
+
     /**
      * Sets the clock (optional).
      * If this method is not called, then the system clock is used.
@@ -61,6 +73,38 @@ extends GenBuilder<LicenseManagementContext> {
      */
     LicenseManagementContextBuilder clock(Clock clock);
 
+    /**
+     * Sets whether a consumer license manager should detect changes to the license key in its store before using any
+     * cached intermediate results (optional).
+     * If this method is not called, then {@code false} is used and external changes to the license key are only
+     * detected when the cache period elapses.
+     * Otherwise, if {@code true} is passed, then the cached results for a license key are discarded as soon as its
+     * store changes.
+     * For a store in a file, this takes a cheap check of the file's modification time and size.
+     * For any other store, this takes a comparison of its content.
+     * This allows to safely use a very long cache period, e.g. {@link Long#MAX_VALUE}.
+     *
+     * @see #cachePeriodMillis(long)
+     * @return {@code this}
+     */
+    LicenseManagementContextBuilder changeDetection(boolean changeDetection);
+
+    /**
+     * Sets the cache period for failures to authenticate the license key in milliseconds (optional).
+     * Any non-negative value is valid.
+     * The default value is zero, which disables the caching of failures.
+     * As long as a failure is cached, a consumer license manager fails fast without reading the license key again
+     * when it has been tampered with.
+     * Failures to read or decode the license key never get cached.
+     * Installing or uninstalling a license key discards any cached failure for its store.
+     * If change detection is enabled, then any change to the store discards the cached failure, too.
+     *
+     * @see #cachePeriodMillis(long)
+     * @see #changeDetection(boolean)
+     * @return {@code this}
+     */
+    LicenseManagementContextBuilder failureCachePeriodMillis(long failureCachePeriodMillis);
+
     /**
      * Sets the codec (optional).
      *
@@ -139,6 +183,23 @@ extends GenBuilder<LicenseManagementContext> {
      */
     LicenseManagementContextBuilder keystoreType(String keystoreType);
 
+    /**
+     * Sets whether password based encryptions may cache the secret keys which are generated from their password
+     * protection (optional).
+     * If this method is not called, then {@code false} is used and a secret key gets generated for each encryption or
+     * decryption, which includes obtaining the password and checking it against the password policy.
+     * Otherwise, if {@code true} is passed, then the secret keys get generated once and reused until the license
+     * management context gets {@linkplain LicenseManagementContext#close() closed}, which destroys them.
+     * <p>
+     * Note that this does not save the key derivation for PBES2 algorithms like {@code PBEWithHmacSHA256AndAES_128},
+     * which is used by the V4 and V5/Binary formats, because the JDK derives their keys with the salt of each message
+     * when initializing the cipher.
+     * For these algorithms, enabling this option saves only the lookup and check of the password.
+     *
+     * @return {@code this}
+     */
+    LicenseManagementContextBuilder secretKeyCaching(boolean secretKeyCaching);
+
     /**
      * Sets the license subject.
      * The provided string should get computed on demand from an obfuscated
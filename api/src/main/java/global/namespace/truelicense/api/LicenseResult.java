@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.api;
+
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The result of {@linkplain ConsumerLicenseManager#tryLoad() loading} the installed license key: Its status and, if
+ * the license key is {@linkplain LicenseStatus#isAuthentic() authentic}, an unvalidated duplicate of its encoded
+ * license bean.
+ * Instances of this class are immutable, but the license bean is not.
+ */
+public final class LicenseResult {
+
+    private static final LicenseResult MISSING = new LicenseResult(LicenseStatus.MISSING, null);
+    private static final LicenseResult TAMPERED = new LicenseResult(LicenseStatus.TAMPERED, null);
+
+    private final LicenseStatus status;
+    private final License license;
+
+    private LicenseResult(final LicenseStatus status, final License license) {
+        this.status = status;
+        this.license = license;
+    }
+
+    /**
+     * Returns a license result with the given status and license bean.
+     *
+     * @param status  the status of the license key.
+     * @param license the license bean, which must not be {@code null} if and only if the status is
+     *                {@linkplain LicenseStatus#isAuthentic() authentic}.
+     */
+    public static LicenseResult of(final LicenseStatus status, final License license) {
+        if (status.isAuthentic()) {
+            return new LicenseResult(status, requireNonNull(license));
+        }
+        if (null != license) {
+            throw new IllegalArgumentException();
+        }
+        return LicenseStatus.MISSING == status ? MISSING : TAMPERED;
+    }
+
+    /** Returns the status of the license key. */
+    public LicenseStatus status() { return status; }
+
+    /**
+     * Returns the unvalidated duplicate of the license bean which is encoded in the license key or nothing if the
+     * license key is not {@linkplain LicenseStatus#isAuthentic() authentic}.
+     */
+    public Optional<License> license() { return Optional.ofNullable(license); }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.api;
+
+/**
+ * Enumerates the outcomes of {@linkplain ConsumerLicenseManager#tryVerify() verifying} or
+ * {@linkplain ConsumerLicenseManager#tryLoad() loading} the installed license key.
+ */
+public enum LicenseStatus {
+
+    /** The license key is installed, authentic and its license bean is valid. */
+    VALID,
+
+    /** The license key is installed and authentic, but its license bean has expired. */
+    EXPIRED,
+
+    /** The license key is installed and authentic, but its license bean is not yet valid. */
+    NOT_YET_VALID,
+
+    /**
+     * The license key is installed and authentic, but its license bean is invalid for any other reason, e.g. because
+     * its subject doesn't match the subject of the license management context or a custom validation has failed.
+     */
+    INVALID,
+
+    /** There is no installed license key. */
+    MISSING,
+
+    /** The digital signature of the installed license key doesn't match the public key. */
+    TAMPERED;
+
+    /** Returns {@code true} if and only if this is {@link #VALID}. */
+    public boolean isValid() { return VALID == this; }
+
+    /**
+     * Returns {@code true} if and only if the installed license key is authentic, so that its license bean can get
+     * loaded, regardless if it's valid or not.
+     */
+    public boolean isAuthentic() { return MISSING != this && TAMPERED != this; }
+}
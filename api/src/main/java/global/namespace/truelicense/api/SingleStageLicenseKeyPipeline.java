@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.api;
+
+import global.namespace.fun.io.api.Sink;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.lang.System.nanoTime;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A license key pipeline with a single stage which generates each license key with
+ * {@link VendorLicenseManager#generateKeyFrom(License)} on a fixed number of daemon worker threads.
+ * This is the default implementation of {@link VendorLicenseManager#pipeline(int, int)}.
+ */
+final class SingleStageLicenseKeyPipeline implements LicenseKeyPipeline, LicenseKeyPipeline.StageMetrics {
+
+    private final VendorLicenseManager manager;
+    private final BlockingQueue<Job> queue;
+    private final List<Thread> workers = new ArrayList<>();
+    private final LongAdder count = new LongAdder(), totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition idle = lock.newCondition();
+    private long pending;
+    private boolean closed;
+
+    SingleStageLicenseKeyPipeline(final VendorLicenseManager manager, final int threads, final int capacity) {
+        if (0 >= threads || 0 >= capacity) {
+            throw new IllegalArgumentException();
+        }
+        this.manager = requireNonNull(manager);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        for (int i = 0; i < threads; i++) {
+            final Thread worker = new Thread(this::work, "truelicense-generate-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    @Override
+    public CompletionStage<License> submit(final License bean, final Sink sink) {
+        final Job job = new Job(requireNonNull(bean), requireNonNull(sink));
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("This pipeline has been closed.");
+            }
+            pending++;
+        } finally {
+            lock.unlock();
+        }
+        try {
+            queue.put(job);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(job, e);
+        }
+        return job.future;
+    }
+
+    @Override
+    public List<StageMetrics> metrics() {
+        return Collections.singletonList(this);
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            while (0 != pending) {
+                idle.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (final Thread worker : workers) {
+            worker.interrupt();
+        }
+    }
+
+    private void work() {
+        try {
+            while (true) {
+                process(queue.take());
+            }
+        } catch (InterruptedException ignored) {
+            // The pipeline has been closed, so there are no more jobs.
+        }
+    }
+
+    private void process(final Job job) {
+        final long start = nanoTime();
+        final License license;
+        try {
+            license = manager.generateKeyFrom(job.bean).saveTo(job.sink).license();
+        } catch (Throwable e) {
+            // Catching errors, too, keeps the worker alive, so that close() doesn't wait forever:
+            fail(job, e);
+            return;
+        } finally {
+            final long nanos = nanoTime() - start;
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+        job.future.complete(license);
+        done();
+    }
+
+    private void fail(final Job job, final Throwable e) {
+        job.future.completeExceptionally(e instanceof LicenseManagementException ? e : new LicenseManagementException(e));
+        done();
+    }
+
+    private void done() {
+        lock.lock();
+        try {
+            if (0 == --pending) {
+                idle.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String name() {
+        return "generate";
+    }
+
+    @Override
+    public long count() {
+        return count.sum();
+    }
+
+    @Override
+    public long totalNanos() {
+        return totalNanos.sum();
+    }
+
+    @Override
+    public long maxNanos() {
+        return maxNanos.get();
+    }
+
+    @Override
+    public int queued() {
+        return queue.size();
+    }
+
+    private static final class Job {
+
+        final License bean;
+        final Sink sink;
+        final CompletableFuture<License> future = new CompletableFuture<>();
+
+        Job(final License bean, final Sink sink) {
+            this.bean = bean;
+            this.sink = sink;
+        }
+    }
+}
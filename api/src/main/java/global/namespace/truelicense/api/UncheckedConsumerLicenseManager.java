@@ -81,6 +81,27 @@ public interface UncheckedConsumerLicenseManager extends ConsumerLicenseManager
         });
     }
 
+    /**
+     * Loads the installed license key and verifies its encoded license bean like {@link #verify}, but returns the
+     * outcome as a status instead of throwing an exception if the license key is missing, tampered or its license
+     * bean is invalid.
+     *
+     * @see ConsumerLicenseManager#tryVerify()
+     */
+    default LicenseStatus tryVerify() throws UncheckedLicenseManagementException {
+        return UncheckedLicenseManager.callUnchecked(checked()::tryVerify);
+    }
+
+    /**
+     * Loads the installed license key like {@link #load}, but returns the outcome as a result instead of throwing an
+     * exception if the license key is missing or tampered.
+     *
+     * @see ConsumerLicenseManager#tryLoad()
+     */
+    default LicenseResult tryLoad() throws UncheckedLicenseManagementException {
+        return UncheckedLicenseManager.callUnchecked(checked()::tryLoad);
+    }
+
     /**
      * Uninstalls the installed license key.
      * <p>
@@ -94,6 +115,16 @@ public interface UncheckedConsumerLicenseManager extends ConsumerLicenseManager
         });
     }
 
+    @Override
+    default long cacheHits() {
+        return checked().cacheHits();
+    }
+
+    @Override
+    default long cacheMisses() {
+        return checked().cacheMisses();
+    }
+
     @Override
     default UncheckedConsumerLicenseManager unchecked() {
         return this;
@@ -6,6 +6,11 @@ package global.namespace.truelicense.api;
 
 import global.namespace.fun.io.api.Sink;
 
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
 /**
  * Defines the life cycle management operations for license keys in vendor applications alias key generators.
  * <p>
@@ -48,6 +53,23 @@ public interface UncheckedVendorLicenseManager extends VendorLicenseManager {
         });
     }
 
+    @Override
+    default long generateKeysFrom(
+            Stream<? extends License> beans,
+            Function<? super License, ? extends Sink> sinks,
+            Executor executor,
+            int parallelism,
+            BiConsumer<? super License, ? super LicenseManagementException> failures)
+            throws UncheckedLicenseManagementException {
+        return UncheckedLicenseManager.callUnchecked(() ->
+                checked().generateKeysFrom(beans, sinks, executor, parallelism, failures));
+    }
+
+    @Override
+    default LicenseKeyPipeline pipeline(int threads, int capacity) {
+        return checked().pipeline(threads, capacity);
+    }
+
     @Override
     default UncheckedVendorLicenseManager unchecked() {
         return this;
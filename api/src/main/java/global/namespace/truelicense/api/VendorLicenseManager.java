@@ -4,6 +4,18 @@
  */
 package global.namespace.truelicense.api;
 
+import global.namespace.fun.io.api.Sink;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
 /**
  * Defines the life cycle management operations for license keys in vendor applications alias key generators.
  * <p>
@@ -25,6 +37,107 @@ public interface VendorLicenseManager extends LicenseManagerMixin {
      */
     LicenseKeyGenerator generateKeyFrom(License bean) throws LicenseManagementException;
 
+    /**
+     * Generates license keys from the given license beans in parallel and saves each license key to the sink which
+     * is returned by the given function for its license bean.
+     * The license keys get generated by tasks which run on the given executor, e.g. a fork-join pool or a fixed thread
+     * pool.
+     * The license beans get consumed from the stream only as fast as the tasks complete, so that no more than the
+     * given number of license keys are in flight at any time.
+     * If generating a license key fails, then the failure gets reported to the given consumer and the remaining license
+     * keys get generated anyway.
+     * The key material, signature engines, ciphers and compression engines are cached or pooled by the license
+     * management context, so they get reused by all tasks.
+     * <p>
+     * This method blocks until all license keys have been generated or failed and closes the stream of license beans
+     * before it returns.
+     * Calling this operation performs an initial
+     * {@linkplain LicenseManagementAuthorization#clearGenerate authorization check} for each license bean.
+     *
+     * @param beans       the license beans to process.
+     *                    These beans are not modified.
+     * @param sinks       the function which returns the sink for saving the license key for a license bean.
+     *                    This function is called by the tasks, so it must be thread-safe.
+     * @param executor    the executor for running the tasks.
+     * @param parallelism the maximum number of license keys in flight.
+     * @param failures    the consumer for the license beans for which generating a license key has failed and the
+     *                    respective exception.
+     *                    This consumer is called concurrently by the tasks on the threads of the executor and by the
+     *                    current thread if the executor rejects a task, so it must be thread-safe.
+     * @return The number of license keys which have been successfully generated.
+     * @throws LicenseManagementException if the current thread has been interrupted while waiting for the tasks.
+     *         In this case, no more license beans get consumed from the stream, but this method still waits for the
+     *         running tasks to complete before it throws.
+     */
+    default long generateKeysFrom(
+            final Stream<? extends License> beans,
+            final Function<? super License, ? extends Sink> sinks,
+            final Executor executor,
+            final int parallelism,
+            final BiConsumer<? super License, ? super LicenseManagementException> failures)
+            throws LicenseManagementException {
+        Objects.requireNonNull(sinks);
+        Objects.requireNonNull(executor);
+        Objects.requireNonNull(failures);
+        if (0 >= parallelism) {
+            throw new IllegalArgumentException("" + parallelism);
+        }
+        final Semaphore permits = new Semaphore(parallelism);
+        final LongAdder generated = new LongAdder();
+        try (Stream<? extends License> stream = beans) {
+            for (final Iterator<? extends License> it = stream.iterator(); it.hasNext(); ) {
+                final License bean = it.next();
+                permits.acquire();
+                try {
+                    executor.execute(() -> {
+                        try {
+                            generateKeyFrom(bean).saveTo(sinks.apply(bean));
+                            generated.increment();
+                        } catch (LicenseManagementException e) {
+                            failures.accept(bean, e);
+                        } catch (RuntimeException e) {
+                            failures.accept(bean, new LicenseManagementException(e));
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    permits.release();
+                    failures.accept(bean, new LicenseManagementException(e));
+                }
+            }
+            permits.acquire(parallelism); // await the remaining tasks
+        } catch (InterruptedException e) {
+            // Don't leave any running tasks behind:
+            permits.acquireUninterruptibly(parallelism);
+            Thread.currentThread().interrupt();
+            throw new LicenseManagementException(e);
+        }
+        return generated.sum();
+    }
+
+    /**
+     * Returns a new pipeline for generating license keys in stages.
+     * Unlike {@link #generateKeysFrom}, which generates each license key in a single task, the pipeline runs each stage
+     * of the license key generation on its own worker threads, so that stages with very different costs overlap.
+     * <p>
+     * Each call starts {@code threads} new worker threads per stage, which keep running until the pipeline gets
+     * {@linkplain LicenseKeyPipeline#close() closed}, so a pipeline should get reused for many license keys and
+     * must get closed eventually.
+     * For example, the vendor license managers of the core module run five stages, so their pipeline starts
+     * {@code 5 * threads} worker threads.
+     * <p>
+     * The default implementation returns a pipeline with a single stage which generates each license key with
+     * {@link #generateKeyFrom(License)} and saves it to its sink.
+     *
+     * @param threads  the number of worker threads per stage.
+     * @param capacity the capacity of the queue of each stage.
+     * @return A new license key pipeline.
+     */
+    default LicenseKeyPipeline pipeline(int threads, int capacity) {
+        return new SingleStageLicenseKeyPipeline(this, threads, capacity);
+    }
+
     /**
      * Adapts this vendor license manager so that it generally throws an {@link UncheckedLicenseManagementException}
      * instead of a (checked) {@link LicenseManagementException} if an operation fails.
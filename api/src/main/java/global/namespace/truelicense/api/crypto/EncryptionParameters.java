@@ -22,4 +22,13 @@ public interface EncryptionParameters {
 
     /** Returns a password protection for generating the secret key for encryption/decryption. */
     PasswordProtection protection();
+
+    /**
+     * Returns {@code true} if the secret keys which are generated from the password protection may get cached for
+     * subsequent use.
+     * The default implementation returns {@code false}.
+     */
+    default boolean secretKeyCaching() {
+        return false;
+    }
 }
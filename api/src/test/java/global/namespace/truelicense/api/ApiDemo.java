@@ -40,6 +40,8 @@ interface ApiDemo {
                 .authenticationFactory(mock(AuthenticationFactory.class))
                 .authorization(mock(LicenseManagementAuthorization.class))
                 .cachePeriodMillis(1000L)
+                .cacheSize(16)
+                .changeDetection(true)
                 .codecFactory(mock(CodecFactory.class))
                 .clock(mock(Clock.class))
                 .compression(mock(Filter.class))
@@ -51,6 +53,7 @@ interface ApiDemo {
                 .licenseFactory(mock(LicenseFactory.class))
                 .passwordPolicy(mock(PasswordPolicy.class))
                 .repositoryFactory(mock(RepositoryFactory.class))
+                .secretKeyCaching(true)
                 .subject("MyProduct 1")
                 .validation(mock(LicenseValidation.class))
                 .validationComposition(LicenseFunctionComposition.decorate)
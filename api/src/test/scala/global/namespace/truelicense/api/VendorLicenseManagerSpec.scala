@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.api
+
+import global.namespace.fun.io.api.Sink
+import global.namespace.truelicense.api.VendorLicenseManagerSpec._
+import org.scalatest.matchers.should.Matchers._
+import org.scalatest.wordspec.AnyWordSpec
+import org.scalatestplus.mockito.MockitoSugar.mock
+
+import java.util.concurrent._
+import java.util.function.{BiConsumer, Function}
+import java.util.stream.Stream
+
+class VendorLicenseManagerSpec extends AnyWordSpec {
+
+  "VendorLicenseManager.generateKeysFrom(...)" should {
+    val beans = Seq.fill(10)(mock[License])
+    val failing = Set(beans(3), beans(5))
+    val manager = new StubVendorLicenseManager(failing)
+    val sink = mock[Sink]
+    val sinks: Function[License, Sink] = _ => sink
+
+    "return the number of generated license keys and report each failure" in {
+      val failures = new ConcurrentHashMap[License, LicenseManagementException]
+      val report: BiConsumer[License, LicenseManagementException] = (bean, e) => failures.put(bean, e)
+      val executor = Executors newFixedThreadPool 4
+      try {
+        manager.generateKeysFrom(Stream.of(beans: _*), sinks, executor, 2, report) shouldBe 8
+      } finally {
+        executor.shutdown()
+      }
+      failures.keySet should contain theSameElementsAs failing
+    }
+
+    "report a license bean as failed if the executor rejects its task" in {
+      val failures = new ConcurrentHashMap[License, LicenseManagementException]
+      val report: BiConsumer[License, LicenseManagementException] = (bean, e) => failures.put(bean, e)
+      val executor: Executor = _ => throw new RejectedExecutionException
+      manager.generateKeysFrom(Stream.of(beans: _*), sinks, executor, 2, report) shouldBe 0
+      failures.keySet should contain theSameElementsAs beans
+      beans.foreach(failures.get(_).getCause shouldBe a[RejectedExecutionException])
+    }
+
+    "close the stream of license beans" in {
+      var closed = false
+      val stream = Stream.of(beans: _*).onClose(() => closed = true)
+      val report: BiConsumer[License, LicenseManagementException] = (_, _) => ()
+      val executor: Executor = _.run()
+      manager.generateKeysFrom(stream, sinks, executor, 1, report) shouldBe 8
+      closed shouldBe true
+    }
+  }
+}
+
+private object VendorLicenseManagerSpec {
+
+  /** A vendor license manager which fails to generate a license key for the given license beans. */
+  private final class StubVendorLicenseManager(failing: Set[License]) extends VendorLicenseManager {
+
+    override def parameters: LicenseManagerParameters = throw new UnsupportedOperationException
+
+    override def generateKeyFrom(bean: License): LicenseKeyGenerator = {
+      if (failing(bean)) {
+        throw new LicenseManagementException
+      }
+      new LicenseKeyGenerator {
+
+        override def license: License = bean
+
+        override def saveTo(sink: Sink): LicenseKeyGenerator = this
+      }
+    }
+  }
+}
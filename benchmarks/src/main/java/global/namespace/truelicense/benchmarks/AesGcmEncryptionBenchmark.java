@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.benchmarks;
+
+import global.namespace.fun.io.api.Filter;
+import global.namespace.fun.io.api.Store;
+import global.namespace.truelicense.api.LicenseManagementContextBuilder;
+import global.namespace.truelicense.v5.binary.AesGcmEncryptionFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static global.namespace.fun.io.bios.BIOS.copy;
+import static global.namespace.fun.io.bios.BIOS.memory;
+
+/**
+ * Compares encrypting and decrypting a license key sized payload using the password based encryption of the
+ * benchmarked format to using the AES/GCM encryption with a cached key derivation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+public class AesGcmEncryptionBenchmark {
+
+    @Benchmark
+    public Store encrypt(Encryption state) throws Exception {
+        final Store store = memory();
+        copy(state.plain, store.map(state.encryption));
+        return store;
+    }
+
+    @Benchmark
+    public byte[] decrypt(Encryption state) throws Exception {
+        return state.encrypted.map(state.encryption).content();
+    }
+
+    /** Provides the encryption of a license manager and some data to encrypt or decrypt. */
+    public static class Encryption extends LicenseManagementState {
+
+        @Param({"false", "true"})
+        public boolean aesGcm;
+
+        Filter encryption;
+        Store plain, encrypted;
+
+        @Override
+        LicenseManagementContextBuilder builder() {
+            final LicenseManagementContextBuilder builder = super.builder();
+            return aesGcm ? builder.encryptionFactory(new AesGcmEncryptionFactory()) : builder;
+        }
+
+        @Setup(Level.Trial)
+        public void encryption() throws Exception {
+            encryption = vendorManager.parameters().encryption();
+            plain = memory();
+            plain.content(new byte[512]);
+            encrypted = memory();
+            copy(plain, encrypted.map(encryption));
+        }
+    }
+}
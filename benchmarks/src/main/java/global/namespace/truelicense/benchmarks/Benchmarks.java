@@ -0,0 +1,31 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.benchmarks;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs the JMH benchmarks in this module.
+ * Unless the command line specifies a result format, the results get written to {@code jmh-result.json} so that they
+ * can be compared between releases.
+ */
+public final class Benchmarks {
+
+    public static void main(final String[] args) throws Exception {
+        final List<String> list = new ArrayList<>(Arrays.asList(args));
+        if (!list.contains("-rf")) {
+            list.add(0, "-rf");
+            list.add(1, "json");
+        }
+        Main.main(list.toArray(new String[0]));
+    }
+
+    private Benchmarks() {
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.benchmarks;
+
+import global.namespace.truelicense.api.License;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static global.namespace.fun.io.bios.BIOS.memory;
+
+/**
+ * Benchmarks the throughput of generating a batch of license keys in parallel with one up to eight threads.
+ * The score is the number of license keys per second, so that the scalability can get read off directly.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OperationsPerInvocation(BulkGenerationBenchmark.BATCH_SIZE)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+public class BulkGenerationBenchmark {
+
+    static final int BATCH_SIZE = 256;
+
+    @Benchmark
+    public long generateKeys(Batch state) throws Exception {
+        return state.vendorManager.generateKeysFrom(
+                Stream.generate(() -> state.bean).limit(BATCH_SIZE),
+                bean -> memory(),
+                state.executor,
+                2 * state.threads,
+                (bean, e) -> {
+                    throw new AssertionError(e);
+                });
+    }
+
+    /** Provides a thread pool and a license bean for generating license keys. */
+    public static class Batch extends LicenseManagementState {
+
+        @Param({"1", "2", "4", "8"})
+        public int threads;
+
+        ExecutorService executor;
+        License bean;
+
+        @Setup(Level.Trial)
+        public void executor() {
+            executor = Executors.newFixedThreadPool(threads);
+            bean = license();
+        }
+
+        @TearDown(Level.Trial)
+        public void shutdown() {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.benchmarks;
+
+import global.namespace.truelicense.api.License;
+import global.namespace.truelicense.api.LicenseManagementContextBuilder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the throughput of loading a license key which has been cached by the consumer license manager, so that
+ * only a duplicate of the cached license gets returned, versus loading it with the cache disabled, so that the license
+ * key gets decrypted, decompressed, authenticated and decoded for each call.
+ * Run this class as a Java application in order to profile the allocation rate, too.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+public class CachedLoadBenchmark {
+
+    @Benchmark
+    public License cached(LicenseConsumerBenchmark.Installed state) throws Exception {
+        return state.consumerManager.load();
+    }
+
+    @Benchmark
+    public License uncached(Uncached state) throws Exception {
+        return state.consumerManager.load();
+    }
+
+    /** A license management state with an installed license key and caching disabled. */
+    public static class Uncached extends LicenseConsumerBenchmark.Installed {
+
+        @Override
+        LicenseManagementContextBuilder builder() {
+            return super.builder().cachePeriodMillis(0);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(CachedLoadBenchmark.class.getName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.benchmarks;
+
+import global.namespace.fun.io.api.Store;
+import global.namespace.truelicense.api.ConsumerLicenseManager;
+import global.namespace.truelicense.api.ConsumerLicenseManagerBuilder;
+import global.namespace.truelicense.api.VendorLicenseManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static global.namespace.fun.io.bios.BIOS.memory;
+
+/**
+ * Benchmarks the first use of a new chained consumer license manager, which includes loading its keystore and
+ * checking if it can generate license keys:
+ * Installing a license key which the parent consumer license manager rejects, and verifying a free trial period (FTP)
+ * license key which needs to get generated first.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+public class ChainedStartupBenchmark {
+
+    @Benchmark
+    public void install(Chained state) throws Exception {
+        state.chainedManager().install(state.chainedKey);
+    }
+
+    @Benchmark
+    public void ftp(Chained state) throws Exception {
+        state.ftpManager().verify();
+    }
+
+    /** Provides a license key for a chained consumer license manager and builds new chained managers. */
+    public static class Chained extends LicenseManagementState {
+
+        /** The encoded, compressed and encrypted license key for the chained consumer license manager. */
+        Store chainedKey;
+
+        @Setup(Level.Trial)
+        public void chainedKey() throws Exception {
+            final VendorLicenseManager chainedVendorManager = context
+                    .vendor()
+                    .encryption().protection(PROTECTION).up()
+                    .authentication()
+                        .alias("mykey")
+                        .loadFromResource(format.keyStore("chained-private"))
+                        .storeProtection(PROTECTION)
+                        .up()
+                    .build();
+            chainedKey = memory();
+            chainedVendorManager.generateKeyFrom(license()).saveTo(chainedKey);
+        }
+
+        ConsumerLicenseManager chainedManager() {
+            return child("chained-public").build();
+        }
+
+        ConsumerLicenseManager ftpManager() {
+            return child("ftp").ftpDays(1).build();
+        }
+
+        private ConsumerLicenseManagerBuilder child(final String keyStore) {
+            return context
+                    .consumer()
+                    .encryption().protection(PROTECTION).up()
+                    .authentication()
+                        .alias("mykey")
+                        .loadFromResource(format.keyStore(keyStore))
+                        .storeProtection(PROTECTION)
+                        .up()
+                    .parent(consumerManager)
+                    .storeIn(memory());
+        }
+    }
+}
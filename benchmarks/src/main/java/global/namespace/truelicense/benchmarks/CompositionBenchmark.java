@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.benchmarks;
+
+import global.namespace.truelicense.api.License;
+import global.namespace.truelicense.api.LicenseFunctionComposition;
+import global.namespace.truelicense.api.LicenseValidation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-call cost of composing a custom license validation with a built-in license validation on each
+ * call, which is what license management contexts used to do, with reusing the composition, which is what they do
+ * now.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+public class CompositionBenchmark {
+
+    private final LicenseValidation custom = bean -> {
+        if (bean.getConsumerAmount() > 10) {
+            throw new IllegalStateException();
+        }
+    };
+
+    private LicenseValidation composed;
+    private License license;
+
+    @Setup
+    public void setup() {
+        composed = LicenseFunctionComposition.decorate.compose(custom, new BuiltInValidation());
+        license = LicenseFormat.V4.builder().subject("MyProduct 1").build().licenseFactory().license();
+        license.setConsumerAmount(1);
+    }
+
+    @Benchmark
+    public void composeOnEachCall() throws Exception {
+        LicenseFunctionComposition.decorate.compose(custom, new BuiltInValidation()).validate(license);
+    }
+
+    @Benchmark
+    public void reuseComposition() throws Exception {
+        composed.validate(license);
+    }
+
+    private static final class BuiltInValidation implements LicenseValidation {
+
+        @Override
+        public void validate(License bean) {
+            if (0 >= bean.getConsumerAmount()) {
+                throw new IllegalStateException();
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.benchmarks;
+
+import global.namespace.fun.io.api.Filter;
+import global.namespace.fun.io.api.Store;
+import global.namespace.truelicense.core.io.Compression;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+import static global.namespace.fun.io.bios.BIOS.deflate;
+import static global.namespace.fun.io.bios.BIOS.memory;
+
+/**
+ * Benchmarks compressing and decompressing the encoded license keys of each format with each compression filter and
+ * reports the size of the compressed data in bytes as the auxiliary counter {@code bytes}, so that the matrix of key
+ * size and CPU time can get compared.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+public class CompressionBenchmark {
+
+    @Benchmark
+    public byte[] compress(Payload state, CompressedSize size) throws Exception {
+        final Store store = memory();
+        store.map(state.filter).content(state.plain);
+        return store.content();
+    }
+
+    @Benchmark
+    public byte[] decompress(Payload state) throws Exception {
+        return state.compressed.map(state.filter).content();
+    }
+
+    /** Enumerates the compression filters to benchmark. */
+    public enum Kind {
+
+        BIOS_BEST_COMPRESSION {
+
+            @Override
+            Filter filter() {
+                return deflate(Deflater.BEST_COMPRESSION);
+            }
+        },
+
+        POOLED_BEST_COMPRESSION {
+
+            @Override
+            Filter filter() {
+                return Compression.deflate(Deflater.BEST_COMPRESSION);
+            }
+        },
+
+        POOLED_BEST_SPEED {
+
+            @Override
+            Filter filter() {
+                return Compression.deflate(Deflater.BEST_SPEED);
+            }
+        },
+
+        POOLED_STORE {
+
+            @Override
+            Filter filter() {
+                return Compression.deflate(Deflater.NO_COMPRESSION);
+            }
+        },
+
+        ADAPTIVE {
+
+            @Override
+            Filter filter() {
+                return Compression.adaptive();
+            }
+        },
+
+        DICTIONARY {
+
+            @Override
+            Filter filter() {
+                return Compression.dictionary();
+            }
+        };
+
+        abstract Filter filter();
+    }
+
+    /** Provides the encoded, but uncompressed and unencrypted license key of the benchmarked format. */
+    public static class Payload extends LicenseManagementState {
+
+        @Param({"BIOS_BEST_COMPRESSION", "POOLED_BEST_COMPRESSION", "POOLED_BEST_SPEED", "POOLED_STORE", "ADAPTIVE", "DICTIONARY"})
+        public Kind compression;
+
+        Filter filter;
+        byte[] plain;
+        Store compressed;
+
+        @Setup(Level.Trial)
+        public void payload() throws Exception {
+            filter = compression.filter();
+            plain = key.map(vendorManager.parameters().encryption()).map(format.compression()).content();
+            compressed = memory();
+            compressed.map(filter).content(plain);
+        }
+    }
+
+    /** Reports the size of the compressed license key. */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class CompressedSize {
+
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void setup(Payload state) throws Exception {
+            bytes = state.compressed.content().length;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.benchmarks;
+
+import global.namespace.truelicense.api.License;
+import global.namespace.truelicense.core.LicenseStub;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static global.namespace.fun.io.bios.BIOS.memory;
+
+/**
+ * Benchmarks duplicating a license bean by cloning it with the codec versus copying it, which is what the license key
+ * generator does before initializing and validating the duplicate.
+ * See {@link LicenseVendorBenchmark} for the overall cost of generating a license key.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+public class DuplicationBenchmark {
+
+    @Benchmark
+    public License codec(Bean state) throws Exception {
+        return memory().connect(state.context.codec()).clone(state.bean);
+    }
+
+    @Benchmark
+    public License copy(Bean state) throws Exception {
+        final License duplicate = state.context.licenseFactory().license();
+        state.bean.copyTo(duplicate);
+        return duplicate;
+    }
+
+    /** Provides a license bean with some typical properties. */
+    public static class Bean extends LicenseManagementState {
+
+        LicenseStub bean;
+
+        @Setup(Level.Trial)
+        public void bean() {
+            bean = (LicenseStub) license();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.benchmarks;
+
+import global.namespace.truelicense.core.crypto.EnginePool;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of verifying a signature with a signature engine from the {@link EnginePool} to a new
+ * signature engine for each operation at 1, 8 and 32 threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+public class EnginePoolBenchmark {
+
+    private static final String ALGORITHM = "SHA256withRSA";
+
+    private final EnginePool<Signature> signatures = EnginePool.signatures();
+    private final byte[] data = new byte[1024];
+    private KeyPair keyPair;
+    private byte[] signature;
+
+    @Setup
+    public void setup() throws Exception {
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keyPair = generator.generateKeyPair();
+        final Signature engine = Signature.getInstance(ALGORITHM);
+        engine.initSign(keyPair.getPrivate());
+        engine.update(data);
+        signature = engine.sign();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean newInstance1() throws Exception {
+        return verify(Signature.getInstance(ALGORITHM));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean pooled1() throws Exception {
+        return verifyPooled();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean newInstance8() throws Exception {
+        return verify(Signature.getInstance(ALGORITHM));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean pooled8() throws Exception {
+        return verifyPooled();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public boolean newInstance32() throws Exception {
+        return verify(Signature.getInstance(ALGORITHM));
+    }
+
+    @Benchmark
+    @Threads(32)
+    public boolean pooled32() throws Exception {
+        return verifyPooled();
+    }
+
+    private boolean verifyPooled() throws Exception {
+        final Signature engine = signatures.borrow(ALGORITHM);
+        try {
+            return verify(engine);
+        } finally {
+            signatures.release(ALGORITHM, engine);
+        }
+    }
+
+    private boolean verify(final Signature engine) throws Exception {
+        engine.initVerify(keyPair.getPublic());
+        engine.update(data);
+        return engine.verify(signature);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.benchmarks;
+
+import global.namespace.fun.io.api.Filter;
+import global.namespace.fun.io.api.Store;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static global.namespace.fun.io.bios.BIOS.memory;
+
+/**
+ * Benchmarks installing license keys which have been compressed and encrypted in the regular order and in the legacy
+ * order of TrueLicense 4.0.0 and 4.0.1, where the filters were accidentally swapped.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+public class FilterOrderBenchmark {
+
+    @Benchmark
+    public void install(Keys state) throws Exception {
+        state.consumerManager.install(state.orderedKey);
+    }
+
+    /** Provides a license key in the regular or the legacy order. */
+    public static class Keys extends LicenseManagementState {
+
+        @Param({"REGULAR", "LEGACY"})
+        public String order;
+
+        Store orderedKey;
+
+        @Setup(Level.Trial)
+        public void keys() throws Exception {
+            if ("LEGACY".equals(order)) {
+                final Filter compression = format.compression();
+                final Filter encryption = vendorManager.parameters().encryption();
+                final byte[] plain = key.map(encryption).map(compression).content();
+                orderedKey = memory();
+                orderedKey.map(compression).map(encryption).content(plain);
+            } else {
+                orderedKey = key;
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.benchmarks;
+
+import global.namespace.fun.io.api.Store;
+import global.namespace.truelicense.api.License;
+import global.namespace.truelicense.api.codec.Codec;
+import global.namespace.truelicense.v4.V4CodecFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static global.namespace.fun.io.bios.BIOS.memory;
+
+/**
+ * Compares the per-operation cost of encoding and decoding a license bean with the V4 codec, which shares a single
+ * object mapper and its readers and writers, to creating a new object mapper for each operation, which is what the
+ * V4 codec used to do.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+public class JsonCodecBenchmark {
+
+    private final V4CodecFactory factory = new V4CodecFactory();
+    private Codec codec;
+    private License license;
+    private Class<? extends License> licenseClass;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() throws Exception {
+        final LicenseManagementState state = new LicenseManagementState();
+        state.format = LicenseFormat.V4;
+        state.setup();
+        codec = state.context.codec();
+        license = state.vendorManager.generateKeyFrom(state.license()).license();
+        licenseClass = state.context.licenseFactory().licenseClass();
+        final Store store = memory();
+        codec.encoder(store).encode(license);
+        encoded = store.content();
+        state.tearDown();
+    }
+
+    @Benchmark
+    public byte[] encodeWithSharedMapper() throws Exception {
+        final Store store = memory();
+        codec.encoder(store).encode(license);
+        return store.content();
+    }
+
+    @Benchmark
+    public byte[] encodeWithNewMapper() throws Exception {
+        return factory.objectMapper().writeValueAsBytes(license);
+    }
+
+    @Benchmark
+    public License decodeWithSharedMapper() throws Exception {
+        final Store store = memory();
+        store.content(encoded);
+        return codec.decoder(store).decode(licenseClass);
+    }
+
+    @Benchmark
+    public License decodeWithNewMapper() throws Exception {
+        return factory.objectMapper().readValue(encoded, licenseClass);
+    }
+}
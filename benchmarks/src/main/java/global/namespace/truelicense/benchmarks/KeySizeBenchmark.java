@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.benchmarks;
+
+import global.namespace.truelicense.api.License;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks decoding license keys and reports their size in bytes as the auxiliary counter {@code bytes}, so that
+ * the license key formats can get compared by both metrics.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+public class KeySizeBenchmark {
+
+    @Benchmark
+    public License decode(LicenseManagementState state, KeySize size) throws Exception {
+        state.consumerManager.install(state.key);
+        return state.consumerManager.load();
+    }
+
+    /** Reports the size of the license key of the benchmarked format. */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class KeySize {
+
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void setup(LicenseManagementState state) throws Exception {
+            bytes = state.key.content().length;
+        }
+    }
+}
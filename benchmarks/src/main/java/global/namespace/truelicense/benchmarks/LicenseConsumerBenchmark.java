@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.benchmarks;
+
+import global.namespace.truelicense.api.License;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks installing, loading, verifying and uninstalling license keys.
+ * Loading and verifying the installed license key may be served from the cache of the consumer license manager,
+ * which is the typical case in a license consumer application.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+public class LicenseConsumerBenchmark {
+
+    @Benchmark
+    public void install(LicenseManagementState state) throws Exception {
+        state.consumerManager.install(state.key);
+    }
+
+    @Benchmark
+    public License load(Installed state) throws Exception {
+        return state.consumerManager.load();
+    }
+
+    @Benchmark
+    public void verify(Installed state) throws Exception {
+        state.consumerManager.verify();
+    }
+
+    @Benchmark
+    public void uninstall(Reinstalled state) throws Exception {
+        state.consumerManager.uninstall();
+    }
+
+    /** A license management state with an installed license key. */
+    public static class Installed extends LicenseManagementState {
+
+        @Setup(Level.Trial)
+        public void install() throws Exception {
+            consumerManager.install(key);
+        }
+    }
+
+    /** A license management state which reinstalls the license key before each invocation. */
+    public static class Reinstalled extends LicenseManagementState {
+
+        @Setup(Level.Invocation)
+        public void install() throws Exception {
+            consumerManager.install(key);
+        }
+    }
+}
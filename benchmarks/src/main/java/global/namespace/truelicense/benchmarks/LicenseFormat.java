@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.benchmarks;
+
+import global.namespace.fun.io.api.Filter;
+import global.namespace.truelicense.api.LicenseManagementContextBuilder;
+import global.namespace.truelicense.core.io.Compression;
+import global.namespace.truelicense.v1.V1;
+import global.namespace.truelicense.v2.json.V2Json;
+import global.namespace.truelicense.v2.xml.V2Xml;
+import global.namespace.truelicense.v4.V4;
+import global.namespace.truelicense.v5.binary.V5Binary;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+import static global.namespace.fun.io.bios.BIOS.gzip;
+
+/**
+ * Enumerates the license key formats to benchmark.
+ */
+@SuppressWarnings("deprecation")
+public enum LicenseFormat {
+
+    V1("v1", ".jks") {
+
+        @Override
+        LicenseManagementContextBuilder builder() {
+            return V1.builder();
+        }
+
+        @Override
+        Filter compression() {
+            return gzip();
+        }
+    },
+
+    V2_JSON("v2", ".jceks") {
+
+        @Override
+        LicenseManagementContextBuilder builder() {
+            return V2Json.builder();
+        }
+    },
+
+    V2_XML("v2", ".jceks") {
+
+        @Override
+        LicenseManagementContextBuilder builder() {
+            return V2Xml.builder();
+        }
+
+        @Override
+        Object extra() {
+            return null; // would require binding the class of the extra data to the JAXB context
+        }
+    },
+
+    V4("v4", ".pkcs12") {
+
+        @Override
+        LicenseManagementContextBuilder builder() {
+            return V4.builder();
+        }
+
+        @Override
+        Filter compression() {
+            return Compression.adaptive();
+        }
+    },
+
+    V5_BINARY("v4", ".pkcs12") {
+
+        @Override
+        LicenseManagementContextBuilder builder() {
+            return V5Binary.builder();
+        }
+
+        @Override
+        Filter compression() {
+            return Compression.adaptive();
+        }
+    };
+
+    private final String directory, extension;
+
+    LicenseFormat(final String directory, final String extension) {
+        this.directory = directory;
+        this.extension = extension;
+    }
+
+    abstract LicenseManagementContextBuilder builder();
+
+    /** Returns the compression filter which is configured by the {@linkplain #builder() builder}. */
+    Filter compression() {
+        return Compression.deflate(Deflater.BEST_COMPRESSION);
+    }
+
+    Object extra() {
+        final Map<String, Object> extra = new HashMap<>();
+        extra.put("message", "This is some private extra data!");
+        return extra;
+    }
+
+    /** Returns the resource name of the keystore with the given base name, e.g. {@code "private"}. */
+    String keyStore(String name) {
+        return LicenseFormat.class.getPackage().getName().replace('.', '/') + '/' + directory + '/' + name + extension;
+    }
+}
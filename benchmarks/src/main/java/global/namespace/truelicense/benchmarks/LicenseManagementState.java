@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.benchmarks;
+
+import global.namespace.fun.io.api.Store;
+import global.namespace.truelicense.api.ConsumerLicenseManager;
+import global.namespace.truelicense.api.License;
+import global.namespace.truelicense.api.LicenseManagementContext;
+import global.namespace.truelicense.api.LicenseManagementContextBuilder;
+import global.namespace.truelicense.api.VendorLicenseManager;
+import global.namespace.truelicense.api.passwd.PasswordProtection;
+import global.namespace.truelicense.core.passwd.ObfuscatedPasswordProtection;
+import global.namespace.truelicense.obfuscate.ObfuscatedString;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import static global.namespace.fun.io.bios.BIOS.memory;
+
+/**
+ * Provides a license management context with a vendor and a consumer license manager for a license key format.
+ * The consumer license manager stores its license key in memory so that the benchmarks measure the CPU-bound work
+ * rather than the file system.
+ */
+@State(Scope.Benchmark)
+public class LicenseManagementState {
+
+    static final PasswordProtection PROTECTION = new ObfuscatedPasswordProtection(
+            new ObfuscatedString(new long[]{0x545a955d0e30826cL, 0x3453ccaa499e6baeL})); /* => "test1234" */
+
+    @Param({"V1", "V2_JSON", "V2_XML", "V4", "V5_BINARY"})
+    public LicenseFormat format;
+
+    LicenseManagementContext context;
+    VendorLicenseManager vendorManager;
+    ConsumerLicenseManager consumerManager;
+    Store consumerStore;
+
+    /** The encoded, compressed and encrypted license key. */
+    Store key;
+
+    @Setup
+    public void setup() throws Exception {
+        context = builder().subject("MyProduct 1").build();
+        vendorManager = context
+                .vendor()
+                .encryption().protection(PROTECTION).up()
+                .authentication()
+                    .alias("mykey")
+                    .loadFromResource(format.keyStore("private"))
+                    .storeProtection(PROTECTION)
+                    .up()
+                .build();
+        consumerStore = memory();
+        consumerManager = context
+                .consumer()
+                .encryption().protection(PROTECTION).up()
+                .authentication()
+                    .alias("mykey")
+                    .loadFromResource(format.keyStore("public"))
+                    .storeProtection(PROTECTION)
+                    .up()
+                .storeIn(consumerStore)
+                .build();
+        key = memory();
+        vendorManager.generateKeyFrom(license()).saveTo(key);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /** Returns a new license management context builder - override to customize the context. */
+    LicenseManagementContextBuilder builder() {
+        return format.builder();
+    }
+
+    /** Returns a new license bean with some typical properties. */
+    License license() {
+        final License bean = context.licenseFactory().license();
+        bean.setConsumerAmount(1);
+        bean.setExtra(format.extra());
+        bean.setInfo("This is a benchmark license.");
+        return bean;
+    }
+}
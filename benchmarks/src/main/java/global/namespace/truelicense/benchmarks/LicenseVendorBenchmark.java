@@ -0,0 +1,30 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.benchmarks;
+
+import global.namespace.fun.io.api.Store;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static global.namespace.fun.io.bios.BIOS.memory;
+
+/**
+ * Benchmarks generating license keys.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+public class LicenseVendorBenchmark {
+
+    @Benchmark
+    public Store generateKey(LicenseManagementState state) throws Exception {
+        final Store store = memory();
+        state.vendorManager.generateKeyFrom(state.license()).saveTo(store);
+        return store;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.benchmarks;
+
+import global.namespace.truelicense.api.License;
+import global.namespace.truelicense.api.LicenseKeyPipeline;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static global.namespace.fun.io.bios.BIOS.memory;
+
+/**
+ * Benchmarks the throughput of generating a batch of license keys in a pipeline with one up to four threads per stage.
+ * Compare the score with the {@link BulkGenerationBenchmark}, which generates each license key in a single task.
+ * When tearing down a trial, the average processing time of each stage gets printed, which shows the bottleneck.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OperationsPerInvocation(PipelineBenchmark.BATCH_SIZE)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+public class PipelineBenchmark {
+
+    static final int BATCH_SIZE = 256;
+
+    @Benchmark
+    public void generateKeys(Pipeline state) {
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            futures[i] = state.pipeline.submit(state.bean, memory()).toCompletableFuture();
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+
+    /** Provides a license key pipeline and a license bean for generating license keys. */
+    public static class Pipeline extends LicenseManagementState {
+
+        @Param({"1", "2", "4"})
+        public int threads;
+
+        LicenseKeyPipeline pipeline;
+        License bean;
+
+        @Setup(Level.Trial)
+        public void pipeline() {
+            pipeline = vendorManager.pipeline(threads, 2 * threads);
+            bean = license();
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            pipeline.close();
+            for (final LicenseKeyPipeline.StageMetrics metrics : pipeline.metrics()) {
+                System.out.printf("%n%s: %d license keys, %d ns on average, %d ns at most",
+                        metrics.name(), metrics.count(), metrics.averageNanos(), metrics.maxNanos());
+            }
+            System.out.println();
+        }
+    }
+}
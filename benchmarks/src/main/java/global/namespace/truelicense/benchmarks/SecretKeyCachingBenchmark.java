@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.benchmarks;
+
+import global.namespace.fun.io.api.Filter;
+import global.namespace.fun.io.api.Store;
+import global.namespace.truelicense.api.LicenseManagementContextBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static global.namespace.fun.io.bios.BIOS.copy;
+import static global.namespace.fun.io.bios.BIOS.memory;
+
+/**
+ * Benchmarks encrypting and decrypting some data with and without caching the secret keys which are generated from
+ * the password protection.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+public class SecretKeyCachingBenchmark {
+
+    @Benchmark
+    public Store encrypt(Encryption state) throws Exception {
+        final Store store = memory();
+        copy(state.plain, store.map(state.encryption));
+        return store;
+    }
+
+    @Benchmark
+    public byte[] decrypt(Encryption state) throws Exception {
+        return state.encrypted.map(state.encryption).content();
+    }
+
+    /** Provides the encryption of a license manager and some data to encrypt or decrypt. */
+    public static class Encryption extends LicenseManagementState {
+
+        @Param({"false", "true"})
+        public boolean secretKeyCaching;
+
+        Filter encryption;
+        Store plain, encrypted;
+
+        @Override
+        LicenseManagementContextBuilder builder() {
+            return super.builder().secretKeyCaching(secretKeyCaching);
+        }
+
+        @Setup(Level.Trial)
+        public void encryption() throws Exception {
+            encryption = vendorManager.parameters().encryption();
+            plain = memory();
+            plain.content(new byte[1024]);
+            encrypted = memory();
+            copy(plain, encrypted.map(encryption));
+        }
+    }
+}
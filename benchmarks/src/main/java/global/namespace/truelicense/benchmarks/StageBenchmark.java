@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.benchmarks;
+
+import global.namespace.fun.io.api.Filter;
+import global.namespace.fun.io.api.Store;
+import global.namespace.truelicense.api.License;
+import global.namespace.truelicense.api.auth.RepositoryController;
+import global.namespace.truelicense.api.auth.RepositoryFactory;
+import global.namespace.truelicense.api.codec.Codec;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static global.namespace.fun.io.bios.BIOS.copy;
+import static global.namespace.fun.io.bios.BIOS.memory;
+
+/**
+ * Benchmarks the individual stages of the license key pipeline in isolation, i.e. encoding, signing, compressing
+ * and encrypting and their counterparts.
+ * This helps to attribute the cost of generating or verifying a license key to its stages.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+public class StageBenchmark {
+
+    @Benchmark
+    public Store encode(Stages state) throws Exception {
+        final Store store = memory();
+        state.codec.encoder(store).encode(state.license);
+        return store;
+    }
+
+    @Benchmark
+    public License decode(Stages state) throws Exception {
+        return state.codec.decoder(state.encoded).decode(state.licenseClass);
+    }
+
+    @Benchmark
+    public Object sign(Stages state) throws Exception {
+        final Object model = state.repositoryFactory.model();
+        state.vendorManager.parameters().authentication().sign(controller(state, model), state.license);
+        return model;
+    }
+
+    @Benchmark
+    public License verify(Stages state) throws Exception {
+        return state.consumerManager
+                .parameters()
+                .authentication()
+                .verify(controller(state, state.signed))
+                .decode(state.licenseClass);
+    }
+
+    @Benchmark
+    public Store compress(Stages state) throws Exception {
+        final Store store = memory();
+        copy(state.signedEncoded, store.map(state.compression));
+        return store;
+    }
+
+    @Benchmark
+    public byte[] decompress(Stages state) throws Exception {
+        return state.compressed.map(state.compression).content();
+    }
+
+    @Benchmark
+    public Store encrypt(Stages state) throws Exception {
+        final Store store = memory();
+        copy(state.compressed, store.map(state.encryption));
+        return store;
+    }
+
+    @Benchmark
+    public byte[] decrypt(Stages state) throws Exception {
+        return state.encrypted.map(state.encryption).content();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static RepositoryController controller(Stages state, Object model) {
+        return ((RepositoryFactory<Object>) state.repositoryFactory).controller(state.codec, model);
+    }
+
+    /** Provides the intermediate artifacts of the license key pipeline. */
+    public static class Stages extends LicenseManagementState {
+
+        Codec codec;
+        Filter compression, encryption;
+        License license;
+        Class<? extends License> licenseClass;
+        RepositoryFactory<?> repositoryFactory;
+        Object signed;
+        Store encoded, signedEncoded, compressed, encrypted;
+
+        @Setup(Level.Trial)
+        public void stages() throws Exception {
+            codec = context.codec();
+            compression = format.compression();
+            encryption = vendorManager.parameters().encryption();
+            license = vendorManager.generateKeyFrom(license()).license();
+            licenseClass = context.licenseFactory().licenseClass();
+            repositoryFactory = context.repositoryFactory();
+
+            encoded = memory();
+            codec.encoder(encoded).encode(license);
+
+            signed = repositoryFactory.model();
+            vendorManager.parameters().authentication().sign(controller(this, signed), license);
+            signedEncoded = memory();
+            codec.encoder(signedEncoded).encode(signed);
+
+            compressed = memory();
+            copy(signedEncoded, compressed.map(compression));
+
+            encrypted = memory();
+            copy(compressed, encrypted.map(encryption));
+        }
+    }
+}
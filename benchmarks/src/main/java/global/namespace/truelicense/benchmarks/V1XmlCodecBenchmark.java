@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.benchmarks;
+
+import global.namespace.fun.io.api.Store;
+import global.namespace.truelicense.api.License;
+import global.namespace.truelicense.api.codec.Codec;
+import global.namespace.truelicense.v1.V1CodecFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.beans.XMLDecoder;
+import java.beans.XMLEncoder;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import static global.namespace.fun.io.bios.BIOS.memory;
+
+/**
+ * Compares the throughput of encoding and decoding a license bean with the V1 codec, which writes and parses the
+ * restricted XML encoder dialect of V1 format license keys by itself, to using the XML encoder and decoder, which is
+ * what the V1 codec used to do.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+public class V1XmlCodecBenchmark {
+
+    private final V1CodecFactory factory = new V1CodecFactory();
+    private Codec codec;
+    private License license;
+    private Class<? extends License> licenseClass;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() throws Exception {
+        final LicenseManagementState state = new LicenseManagementState();
+        state.format = LicenseFormat.V1;
+        state.setup();
+        codec = state.context.codec();
+        license = state.vendorManager.generateKeyFrom(state.license()).license();
+        // The restricted dialect supports only strings as extra data - maps get delegated to the XML encoder:
+        license.setExtra("This is some private extra data!");
+        licenseClass = state.context.licenseFactory().licenseClass();
+        final Store store = memory();
+        codec.encoder(store).encode(license);
+        encoded = store.content();
+        state.tearDown();
+    }
+
+    @Benchmark
+    public byte[] encodeWithCodec() throws Exception {
+        final Store store = memory();
+        codec.encoder(store).encode(license);
+        return store.content();
+    }
+
+    @Benchmark
+    public byte[] encodeWithXmlEncoder() {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (XMLEncoder encoder = factory.xmlEncoder(out)) {
+            encoder.writeObject(license);
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public License decodeWithCodec() throws Exception {
+        final Store store = memory();
+        store.content(encoded);
+        return codec.decoder(store).decode(licenseClass);
+    }
+
+    @Benchmark
+    public Object decodeWithXmlDecoder() {
+        try (XMLDecoder decoder = factory.xmlDecoder(new ByteArrayInputStream(encoded))) {
+            return decoder.readObject();
+        }
+    }
+}
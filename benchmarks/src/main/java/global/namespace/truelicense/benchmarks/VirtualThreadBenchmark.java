@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.benchmarks;
+
+import global.namespace.truelicense.api.ConsumerLicenseManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static global.namespace.fun.io.bios.BIOS.memory;
+
+/**
+ * Benchmarks thousands of concurrent tasks which verify the license key of the same consumer license manager.
+ * On Java 21 or later, each task runs in its own virtual thread, so that any lock which pins the carrier threads shows
+ * up as a drop in throughput.
+ * On earlier versions, the tasks run in a cached thread pool instead.
+ * <p>
+ * In the {@code INSTALLED} scenario, all tasks read the cached license.
+ * In the {@code FTP} scenario, the tasks race against the generation of the free trial period license key of a new
+ * chained consumer license manager for each invocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+public class VirtualThreadBenchmark {
+
+    @Benchmark
+    public void verify(Tasks state) throws Exception {
+        final ConsumerLicenseManager manager = state.manager;
+        final List<Future<?>> futures = new ArrayList<>(state.tasks);
+        for (int i = 0; i < state.tasks; i++) {
+            futures.add(state.executor.submit(() -> {
+                manager.verify();
+                return null;
+            }));
+        }
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    /** Enumerates the scenarios to benchmark. */
+    public enum Scenario {INSTALLED, FTP}
+
+    /** Provides an executor for the tasks and the consumer license manager to use. */
+    public static class Tasks extends LicenseManagementState {
+
+        @Param({"1000", "10000"})
+        public int tasks;
+
+        @Param({"INSTALLED", "FTP"})
+        public Scenario scenario;
+
+        ExecutorService executor;
+        ConsumerLicenseManager manager;
+
+        @Setup(Level.Trial)
+        public void executor() throws Exception {
+            executor = newVirtualThreadPerTaskExecutor();
+            if (Scenario.INSTALLED == scenario) {
+                consumerManager.install(key);
+            }
+        }
+
+        @Setup(Level.Invocation)
+        public void manager() {
+            manager = Scenario.INSTALLED == scenario ? consumerManager : ftpManager();
+        }
+
+        private ConsumerLicenseManager ftpManager() {
+            return context
+                    .consumer()
+                    .ftpDays(1)
+                    .authentication()
+                        .alias("mykey")
+                        .loadFromResource(format.keyStore("ftp"))
+                        .storeProtection(PROTECTION)
+                        .up()
+                    .encryption().protection(PROTECTION).up()
+                    .parent(consumerManager)
+                    .storeIn(memory())
+                    .build();
+        }
+
+        @TearDown(Level.Trial)
+        public void shutdown() {
+            executor.shutdown();
+        }
+
+        private static ExecutorService newVirtualThreadPerTaskExecutor() {
+            try {
+                // Use reflection so that this code compiles on Java 8:
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                return Executors.newCachedThreadPool();
+            }
+        }
+    }
+}
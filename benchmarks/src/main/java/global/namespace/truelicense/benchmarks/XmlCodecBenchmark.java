@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.benchmarks;
+
+import global.namespace.fun.io.api.Store;
+import global.namespace.truelicense.api.License;
+import global.namespace.truelicense.api.codec.Codec;
+import global.namespace.truelicense.v2.xml.V2XmlCodecFactory;
+import org.openjdk.jmh.annotations.*;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.transform.stream.StreamSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import static global.namespace.fun.io.bios.BIOS.memory;
+
+/**
+ * Compares the per-operation cost of encoding and decoding a license bean with the V2/XML codec, which shares a single
+ * JAXB context and pools its marshallers and unmarshallers, to creating a new JAXB context and a new marshaller or
+ * unmarshaller for each operation, which is what the V2/XML codec used to do.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+public class XmlCodecBenchmark {
+
+    private final V2XmlCodecFactory factory = new V2XmlCodecFactory();
+    private Codec codec;
+    private License license;
+    private Class<? extends License> licenseClass;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() throws Exception {
+        final LicenseManagementState state = new LicenseManagementState();
+        state.format = LicenseFormat.V2_XML;
+        state.setup();
+        codec = state.context.codec();
+        license = state.vendorManager.generateKeyFrom(state.license()).license();
+        licenseClass = state.context.licenseFactory().licenseClass();
+        final Store store = memory();
+        codec.encoder(store).encode(license);
+        encoded = store.content();
+        state.tearDown();
+    }
+
+    @Benchmark
+    public byte[] encodeWithPooledMarshaller() throws Exception {
+        final Store store = memory();
+        codec.encoder(store).encode(license);
+        return store.content();
+    }
+
+    @Benchmark
+    public byte[] encodeWithNewContext() throws Exception {
+        final JAXBContext context = factory.jaxbContext();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        context.createMarshaller().marshal(license, out);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public License decodeWithPooledUnmarshaller() throws Exception {
+        final Store store = memory();
+        store.content(encoded);
+        return codec.decoder(store).decode(licenseClass);
+    }
+
+    @Benchmark
+    public License decodeWithNewContext() throws Exception {
+        final JAXBContext context = factory.jaxbContext();
+        return context
+                .createUnmarshaller()
+                .unmarshal(new StreamSource(new ByteArrayInputStream(encoded)), licenseClass)
+                .getValue();
+    }
+}
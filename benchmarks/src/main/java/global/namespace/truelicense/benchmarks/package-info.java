@@ -0,0 +1,8 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+/**
+ * Provides JMH benchmarks for the hot paths of license vendor and consumer applications.
+ */
+package global.namespace.truelicense.benchmarks;
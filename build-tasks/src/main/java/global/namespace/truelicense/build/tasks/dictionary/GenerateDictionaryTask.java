@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.build.tasks.dictionary;
+
+import global.namespace.truelicense.build.tasks.commons.AbstractTask;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.file.Files.*;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Generates a preset dictionary for the DEFLATE compression of license keys from a directory of sample payloads.
+ * Each regular file in the sample directory is a sample payload, that is the encoded license key before compression
+ * and encryption, e.g. a V4 or V2/JSON repository model.
+ * <p>
+ * The dictionary is assembled from the segments which the samples share:
+ * First, each sample gets split into runs of bytes which are covered by n-grams which occur in at least
+ * {@link #minimumShare()} of all samples.
+ * Then, the segment of a run which adds the most frequent n-grams which are not yet covered by the dictionary gets
+ * selected repeatedly until no more segment fits into the {@link #maximumSize()}.
+ * Finally, the segments get concatenated in reverse order, so that the best segment ends up at the end of the
+ * dictionary because DEFLATE encodes shorter distances more efficiently.
+ * The output is deterministic for a given set of samples.
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public abstract class GenerateDictionaryTask extends AbstractTask {
+
+    /**
+     * A default value for {@link #maximumSize()}, which is {@value}.
+     */
+    public static final int MAXIMUM_SIZE = 2 * 1024;
+
+    /**
+     * A default value for {@link #minimumShare()}, which is {@value}.
+     */
+    public static final double MINIMUM_SHARE = 0.1;
+
+    /** The length of the n-grams for finding shared segments. */
+    private static final int N = 8;
+
+    /**
+     * Returns the directory which contains the sample payloads.
+     */
+    public abstract Path sampleDirectory();
+
+    /**
+     * Returns the dictionary file to write.
+     */
+    public abstract Path dictionaryFile();
+
+    /**
+     * Returns the maximum size of the dictionary in bytes.
+     * DEFLATE cannot use more than the last 32 KiB of a dictionary.
+     */
+    public abstract int maximumSize();
+
+    /**
+     * Returns the minimum share of samples which need to contain a segment for it to get considered for the
+     * dictionary, e.g. {@code 0.1} for a tenth of all samples.
+     */
+    public abstract double minimumShare();
+
+    @Override
+    public final void execute() throws Exception {
+        final List<String> samples = samples();
+        if (samples.isEmpty()) {
+            throw new Exception(format("There are no samples in the directory %s .", sampleDirectory()));
+        }
+        final byte[] dictionary = dictionary(samples).getBytes(ISO_8859_1);
+        final Path file = dictionaryFile();
+        final Path parent = file.getParent();
+        if (null != parent) {
+            createDirectories(parent);
+        }
+        write(file, dictionary);
+        logger().info(format("Generated %d byte dictionary %s from %d samples.", dictionary.length, file, samples.size()));
+    }
+
+    /** Reads the samples as ISO-8859-1 strings, which map each byte to exactly one character. */
+    private List<String> samples() throws Exception {
+        final List<Path> files;
+        try (Stream<Path> s = list(sampleDirectory())) {
+            files = s.filter(p -> isRegularFile(p)).sorted().collect(toList());
+        }
+        final List<String> samples = new ArrayList<>(files.size());
+        for (final Path file : files) {
+            samples.add(new String(readAllBytes(file), ISO_8859_1));
+        }
+        return samples;
+    }
+
+    private String dictionary(final List<String> samples) {
+        final int threshold = Math.max(2, (int) Math.ceil(samples.size() * minimumShare()));
+
+        // Count the number of samples which contain each n-gram:
+        final Map<String, Integer> frequencies = new HashMap<>();
+        for (final String sample : samples) {
+            grams(sample).forEach(g -> frequencies.merge(g, 1, Integer::sum));
+        }
+
+        // Split the samples into distinct runs of bytes which are covered by frequent n-grams:
+        final Set<String> runs = new TreeSet<>();
+        for (final String sample : samples) {
+            int start = -1, end = -1;
+            for (int i = 0; i + N <= sample.length(); i++) {
+                if (threshold <= frequencies.get(sample.substring(i, i + N))) {
+                    if (i > end) {
+                        if (0 <= start) {
+                            runs.add(sample.substring(start, end));
+                        }
+                        start = i;
+                    }
+                    end = i + N;
+                }
+            }
+            if (0 <= start) {
+                runs.add(sample.substring(start, end));
+            }
+        }
+
+        // Repeatedly select the segment of a run which adds the most frequent n-grams to the dictionary until it's
+        // full:
+        final List<String> selected = new ArrayList<>();
+        final Set<String> covered = new HashSet<>();
+        int size = 0;
+        while (true) {
+            String best = null;
+            long bestScore = 0;
+            for (final String run : runs) {
+                long score = 0;
+                int start = 0;
+                for (int i = 0; i + N <= run.length(); i++) {
+                    final String gram = run.substring(i, i + N);
+                    if (covered.contains(gram)) {
+                        score = 0;
+                        start = i + 1;
+                    } else {
+                        if (0 == score) {
+                            start = i;
+                        }
+                        score += frequencies.get(gram);
+                        if (score > bestScore && size + i + N - start <= maximumSize()) {
+                            best = run.substring(start, i + N);
+                            bestScore = score;
+                        }
+                    }
+                }
+            }
+            if (null == best) {
+                break;
+            }
+            selected.add(best);
+            covered.addAll(grams(best));
+            size += best.length();
+        }
+
+        // Put the best segment last:
+        Collections.reverse(selected);
+        return String.join("", selected);
+    }
+
+    private static Set<String> grams(final String string) {
+        final Set<String> grams = new HashSet<>();
+        for (int i = 0; i + N <= string.length(); i++) {
+            grams.add(string.substring(i, i + N));
+        }
+        return grams;
+    }
+}
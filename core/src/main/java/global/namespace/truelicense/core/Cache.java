@@ -4,40 +4,134 @@
  */
 package global.namespace.truelicense.core;
 
-import java.util.Optional;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
+import static java.util.Objects.requireNonNull;
 
 /**
- * A simple time sensitive cache with just one association.
- * This class is immutable.
+ * A simple time sensitive cache with a bounded number of associations.
+ * When the maximum size is exceeded, the least recently used association gets evicted.
+ * Associations which are older than the cache period are treated as absent.
+ * Each association is tagged with a stamp, e.g. a fingerprint of the source of its value, so that a lookup with a
+ * different stamp treats the association as absent, too.
+ * This class is thread-safe.
  */
-@SuppressWarnings("OptionalUsedAsFieldOrParameterType")
 final class Cache<K, V> {
 
-    private final Optional<K> optKey;
-    private final Optional<V> optValue;
-    private final long cachePeriodMillis, startTimeMillis = currentTimeMillis();
+    private final Map<K, Entry<V>> map = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder(), misses = new LongAdder();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final int maximumSize;
+    private final long cachePeriodMillis;
 
-    Cache() { this(Optional.empty(), Optional.empty(), 0); } // => obsolete() == true
-
-    Cache(final Optional<K> optKey, final Optional<V> optValue, final long cachePeriodMillis) {
-        this.optKey = optKey;
-        this.optValue = optValue;
+    Cache(final int maximumSize, final long cachePeriodMillis) {
+        if (0 >= (this.maximumSize = maximumSize)) {
+            throw new IllegalArgumentException();
+        }
         if (0 > (this.cachePeriodMillis = cachePeriodMillis)) {
             throw new IllegalArgumentException();
         }
     }
 
-    Cache<K, V> key(Optional<K> optKey) {
-        return hasKey(optKey) ? this : new Cache<>(optKey, optValue, cachePeriodMillis);
+    /**
+     * Returns the value associated with the given key unless it's absent, obsolete or has a different stamp, in which
+     * case {@code null} gets returned.
+     * This method does not allocate any objects when returning a value.
+     */
+    V get(final K key, final Object stamp) {
+        final Entry<V> entry = map.get(key);
+        if (null != entry) {
+            if (entry.stamp.equals(stamp) && !entry.obsolete(cachePeriodMillis)) {
+                hits.increment();
+                entry.touch();
+                return entry.value;
+            }
+            map.remove(key, entry);
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Associates the given value with the given key and stamp and evicts the least recently used association if
+     * required.
+     * Eviction is serialized so that concurrent writers do not evict more associations than required.
+     */
+    void put(final K key, final V value, final Object stamp) {
+        map.put(key, new Entry<>(value, stamp));
+        if (map.size() > maximumSize) {
+            evictionLock.lock();
+            try {
+                while (map.size() > maximumSize) {
+                    evict();
+                }
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Moves the association of the given source key to the given target key and stamp.
+     * If there is no association for the source key, then any association for the target key gets removed.
+     */
+    void move(final K from, final K to, final Object stamp) {
+        final Entry<V> entry = map.remove(from);
+        if (null != entry) {
+            map.put(to, entry.stamp(stamp));
+        } else {
+            map.remove(to);
+        }
     }
 
-    Optional<V> map(Optional<K> optKey) {
-        return hasKey(optKey) && !obsolete() ? optValue : Optional.empty();
+    /** Removes any association for the given key. */
+    void remove(K key) { map.remove(key); }
+
+    /** Removes all associations. */
+    void clear() { map.clear(); }
+
+    int size() { return map.size(); }
+
+    long hits() { return hits.sum(); }
+
+    long misses() { return misses.sum(); }
+
+    private void evict() {
+        Map.Entry<K, Entry<V>> eldest = null;
+        for (Map.Entry<K, Entry<V>> e : map.entrySet()) {
+            if (null == eldest || e.getValue().accessed - eldest.getValue().accessed < 0) {
+                eldest = e;
+            }
+        }
+        if (null != eldest) {
+            map.remove(eldest.getKey(), eldest.getValue());
+        }
     }
 
-    boolean hasKey(Optional<K> optKey) { return optKey.equals(this.optKey); }
+    private static final class Entry<V> {
+
+        final V value;
+        final Object stamp;
+        final long createdMillis;
+        volatile long accessed = nanoTime();
 
-    boolean obsolete() { return currentTimeMillis() - startTimeMillis >= cachePeriodMillis; }
+        Entry(V value, Object stamp) { this(value, stamp, currentTimeMillis()); }
+
+        private Entry(final V value, final Object stamp, final long createdMillis) {
+            this.value = value;
+            this.stamp = requireNonNull(stamp);
+            this.createdMillis = createdMillis;
+        }
+
+        Entry<V> stamp(Object stamp) { return new Entry<>(value, stamp, createdMillis); }
+
+        void touch() { accessed = nanoTime(); }
+
+        boolean obsolete(long cachePeriodMillis) { return currentTimeMillis() - createdMillis >= cachePeriodMillis; }
+    }
 }
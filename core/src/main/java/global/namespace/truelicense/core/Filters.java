@@ -3,29 +3,36 @@ package global.namespace.truelicense.core;
 import global.namespace.fun.io.api.Filter;
 import global.namespace.fun.io.api.Socket;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
-
-import static global.namespace.fun.io.bios.BIOS.buffer;
+import java.io.*;
 
 final class Filters {
 
     /**
      * Returns a filter which, upon writing, first compresses the data and then encrypts it using the given filters.
-     * Upon reading, the filter first tries to do the inverse, that is to first decrypt the data and then decompress it.
-     * Failing that, the filter tries to swap the underlying filter, that is to first decompress the data and then
-     * decrypt it.
-     * This is a workaround for a bug in TrueLicense 4.0.0 and 4.0.1, where these filters were accidentally swapped,
-     * thus (a) generating license keys which were bigger than they would need to be (because compressing encrypted data
-     * only adds overhead and thus makes it a little bigger instead of smaller) and (b) breaking compatibility with
-     * license keys generated by previous versions of TrueLicense.
-     * Trying the underlying filters in both orders effectively restores compatibility with license keys generated by
-     * *all* previous versions, with only a very small performance penalty for license keys generated by TrueLicense
-     * 4.0.0 and 4.0.1.
-     * Last but not least, if the filters fail in both attempts, the exception of the first attempt (which first
-     * tried to decrypt the data and then decompress it) will be thrown, effectively discarding the exception of the
-     * second attempt.
+     * Upon reading, the filter sniffs the first two bytes of the data in order to decide the order of the filters
+     * without trial decoding:
+     * <ul>
+     * <li>If they don't look like a GZIP or ZLIB header, then the data gets decrypted and then decompressed, which is
+     *     the inverse of writing.
+     *     There is no fallback to the other order, so any error gets reported right away.
+     * <li>Otherwise, the data has most likely been compressed last.
+     *     This is a workaround for a bug in TrueLicense 4.0.0 and 4.0.1, where the filters were accidentally swapped,
+     *     thus (a) generating license keys which were bigger than they would need to be (because compressing encrypted
+     *     data only adds overhead and thus makes it a little bigger instead of smaller) and (b) breaking compatibility
+     *     with license keys generated by previous versions of TrueLicense.
+     *     In this case, the data gets decompressed into memory first and then decrypted.
+     * </ul>
+     * The sniffing is unambiguous for encryptions which prefix the encrypted data with a header, like the length of
+     * the algorithm parameters in the V2, V4 and V5 formats, because its first byte is never the first byte of a GZIP
+     * or ZLIB header.
+     * However, the raw encrypted data of the V1 format looks like a ZLIB header once in about a thousand license keys.
+     * So if decompressing data which looks like it has been compressed last fails, then the data gets decrypted and
+     * then decompressed after all.
+     * This fallback only costs a failing attempt to decompress the data, but never a second cipher setup or key
+     * derivation.
+     * <p>
+     * Note that license keys which have been generated by TrueLicense 4.0.0 or 4.0.1 with a custom compression filter
+     * which doesn't write a GZIP or ZLIB header cannot get read by this filter.
      */
     static Filter compressionAndEncryption(final Filter compression, final Filter encryption) {
         assert compression != null;
@@ -37,27 +44,78 @@ final class Filters {
                 return compression.output(encryption.output(output));
             }
 
-            @SuppressWarnings({"deprecation", "ResultOfMethodCallIgnored"})
             @Override
-            public Socket<InputStream> input(Socket<InputStream> input) {
+            public Socket<InputStream> input(final Socket<InputStream> input) {
                 return () -> {
+                    final InputStream in = new BufferedInputStream(input.get());
                     try {
-                        // Use a buffer filter and do a simple one byte read-ahead test:
-                        return buffer().input(compression.input(encryption.input(input))).map(in -> {
-                            in.mark(1);
-                            in.read();
-                            in.reset();
-                            return in;
-                        }).get();
-                    } catch (final IOException e) {
-                        try {
-                            return encryption.input(compression.input(input)).get();
-                        } catch (IOException ignored) {
-                            throw e;
+                        if (!compressed(in)) {
+                            return compression.input(encryption.input(() -> in)).get();
                         }
+                    } catch (final Exception e) {
+                        in.close();
+                        throw e;
+                    }
+                    final byte[] data;
+                    try (InputStream i = in) {
+                        data = readAll(i);
                     }
+                    final byte[] decompressed = decompress(compression, data);
+                    if (null == decompressed) {
+                        // Raw encrypted data which happens to start like a ZLIB header:
+                        return compression.input(encryption.input(() -> new ByteArrayInputStream(data))).get();
+                    }
+                    return encryption.input(() -> new ByteArrayInputStream(decompressed)).get();
                 };
             }
         };
     }
+
+    /**
+     * Returns true if the next two bytes in the given stream look like a GZIP or ZLIB header.
+     * ZLIB headers which require a preset dictionary don't count because the compression filters of TrueLicense 4.0.0
+     * and 4.0.1 never use one.
+     * The stream must support marking.
+     */
+    static boolean compressed(final InputStream in) throws IOException {
+        in.mark(2);
+        final int b0 = in.read(), b1 = in.read();
+        in.reset();
+        if (0 > b1) {
+            return false;
+        }
+        return 0x1f == b0 && 0x8b == b1 // GZIP magic number
+                || 8 == (b0 & 0xf) && 7 >= b0 >> 4 && 0 == (b0 << 8 | b1) % 31 // ZLIB with DEFLATE method...
+                && 0 == (b1 & 0x20); // ... and no preset dictionary
+    }
+
+    /**
+     * Returns the decompressed data or null if the given data cannot get decompressed.
+     * Empty decompressed data counts as a failure, too, because encrypted data is never empty.
+     */
+    private static byte[] decompress(final Filter compression, final byte[] data) throws Exception {
+        final byte[] decompressed;
+        try {
+            decompressed = readAll(compression.input(() -> new ByteArrayInputStream(data)));
+        } catch (IOException ignored) {
+            return null;
+        }
+        return 0 < decompressed.length ? decompressed : null;
+    }
+
+    /** Opens the given input socket and reads it completely. */
+    private static byte[] readAll(final Socket<InputStream> input) throws Exception {
+        try (InputStream in = input.get()) {
+            return readAll(in);
+        }
+    }
+
+    private static byte[] readAll(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8 * 1024];
+        for (int read; 0 <= (read = in.read(buffer)); ) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
 }
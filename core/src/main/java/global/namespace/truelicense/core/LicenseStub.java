@@ -6,8 +6,7 @@ package global.namespace.truelicense.core;
 
 import global.namespace.truelicense.api.License;
 
-import java.util.Locale;
-import java.util.Objects;
+import java.util.*;
 
 /**
  * A stub class for any license.
@@ -52,6 +51,71 @@ public abstract class LicenseStub implements License {
         return c;
     }
 
+    /**
+     * Copies the properties of this license to the given license, which is typically a new license of the same class.
+     * The extra data gets copied by {@link #copyExtra(Object)}.
+     * This is a lot faster than cloning this license by encoding and decoding it with a codec.
+     * Subclasses which add custom properties need to override this method in order to copy them, too.
+     *
+     * @throws CloneNotSupportedException if the extra data cannot get copied.
+     */
+    public void copyTo(final License that) throws CloneNotSupportedException {
+        that.setExtra(copyExtra(getExtra()));
+        that.setConsumerAmount(getConsumerAmount());
+        that.setConsumerType(getConsumerType());
+        that.setHolder(getHolder());
+        that.setInfo(getInfo());
+        that.setIssued(getIssued());
+        that.setIssuer(getIssuer());
+        that.setNotAfter(getNotAfter());
+        that.setNotBefore(getNotBefore());
+        that.setSubject(getSubject());
+    }
+
+    /**
+     * Returns a deep copy of the given extra data.
+     * This implementation supports strings, boxed primitives and hash maps, linked hash maps, tree maps and array
+     * lists thereof, which are the types which the codecs decode a JSON object to.
+     * Subclasses may override this method in order to support other types, e.g. a custom JavaBean.
+     *
+     * @throws CloneNotSupportedException if the extra data is of an unsupported type.
+     */
+    protected Object copyExtra(Object extra) throws CloneNotSupportedException {
+        return copy(extra);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object copy(final Object obj) throws CloneNotSupportedException {
+        if (null == obj) {
+            return null;
+        }
+        final Class<?> c = obj.getClass();
+        if (String.class == c || Boolean.class == c || Character.class == c || Integer.class == c || Long.class == c
+                || Double.class == c || Float.class == c || Short.class == c || Byte.class == c) {
+            return obj;
+        } else if (HashMap.class == c || LinkedHashMap.class == c || TreeMap.class == c) {
+            final Map<Object, Object> map = (Map<Object, Object>) obj;
+            final Map<Object, Object> copy = HashMap.class == c
+                    ? new HashMap<>(map.size() * 4 / 3 + 1)
+                    : LinkedHashMap.class == c
+                    ? new LinkedHashMap<>(map.size() * 4 / 3 + 1)
+                    : new TreeMap<>(((TreeMap<Object, Object>) map).comparator());
+            for (final Map.Entry<Object, Object> entry : map.entrySet()) {
+                copy.put(copy(entry.getKey()), copy(entry.getValue()));
+            }
+            return copy;
+        } else if (ArrayList.class == c) {
+            final List<Object> list = (List<Object>) obj;
+            final List<Object> copy = new ArrayList<>(list.size());
+            for (final Object element : list) {
+                copy.add(copy(element));
+            }
+            return copy;
+        } else {
+            throw new CloneNotSupportedException(c.getName());
+        }
+    }
+
     @Override
     public String toString() {
         return String.format(Locale.ENGLISH,
@@ -0,0 +1,235 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.core;
+
+import global.namespace.fun.io.api.Sink;
+import global.namespace.truelicense.api.License;
+import global.namespace.truelicense.api.LicenseKeyPipeline;
+import global.namespace.truelicense.api.LicenseManagementException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.lang.System.nanoTime;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A license key pipeline which passes each job through a fixed sequence of stages.
+ * Each stage has a bounded queue and a fixed number of daemon worker threads.
+ * A worker takes one job at a time from its queue and hands it over to the queue of the next stage once processed.
+ * If a stage fails, then the job completes exceptionally and skips the remaining stages.
+ * This applies to any throwable, including errors, so that a worker never dies while there are pending jobs.
+ */
+final class StagedLicenseKeyPipeline implements LicenseKeyPipeline {
+
+    private final List<Stage> stages;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition idle = lock.newCondition();
+    private long pending;
+    private boolean closed;
+
+    StagedLicenseKeyPipeline(final int threads, final int capacity, final Stage... stages) {
+        if (0 >= threads || 0 >= capacity || 0 == stages.length) {
+            throw new IllegalArgumentException();
+        }
+        this.stages = Collections.unmodifiableList(Arrays.asList(stages.clone()));
+        for (int i = 0; i < stages.length; i++) {
+            stages[i].start(this, i + 1 < stages.length ? stages[i + 1] : null, threads, capacity);
+        }
+    }
+
+    @Override
+    public CompletionStage<License> submit(final License bean, final Sink sink) {
+        final Job job = new Job(requireNonNull(bean), requireNonNull(sink));
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("This pipeline has been closed.");
+            }
+            pending++;
+        } finally {
+            lock.unlock();
+        }
+        try {
+            stages.get(0).queue.put(job);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(job, e);
+        }
+        return job.future;
+    }
+
+    @Override
+    public List<StageMetrics> metrics() {
+        return Collections.unmodifiableList(stages);
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            while (0 != pending) {
+                idle.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (final Stage stage : stages) {
+            stage.stop();
+        }
+    }
+
+    private void complete(final Job job) {
+        job.future.complete(job.license);
+        done();
+    }
+
+    private void fail(final Job job, final Throwable e) {
+        job.future.completeExceptionally(e instanceof LicenseManagementException ? e : new LicenseManagementException(e));
+        done();
+    }
+
+    private void done() {
+        lock.lock();
+        try {
+            if (0 == --pending) {
+                idle.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** The state of a license key in the pipeline, which gets updated by each stage. */
+    static final class Job {
+
+        final License bean;
+        final Sink sink;
+        final CompletableFuture<License> future = new CompletableFuture<>();
+
+        /** The initialized and validated duplicate of the license bean. */
+        License license;
+
+        /** The repository model. */
+        Object model;
+
+        /** The encoded or compressed repository model. */
+        byte[] bytes;
+
+        Job(final License bean, final Sink sink) {
+            this.bean = bean;
+            this.sink = sink;
+        }
+    }
+
+    /** A function which processes a job in a stage. */
+    @FunctionalInterface
+    interface Step {
+
+        void process(Job job) throws Exception;
+    }
+
+    /** A stage of the pipeline with its metrics. */
+    static final class Stage implements StageMetrics {
+
+        private final String name;
+        private final Step step;
+        private final LongAdder count = new LongAdder(), totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final List<Thread> workers = new ArrayList<>();
+        private BlockingQueue<Job> queue;
+
+        Stage(final String name, final Step step) {
+            this.name = requireNonNull(name);
+            this.step = requireNonNull(step);
+        }
+
+        void start(final StagedLicenseKeyPipeline pipeline, final Stage next, final int threads, final int capacity) {
+            queue = new ArrayBlockingQueue<>(capacity);
+            for (int i = 0; i < threads; i++) {
+                final Thread worker = new Thread(() -> work(pipeline, next), "truelicense-" + name + "-" + i);
+                worker.setDaemon(true);
+                workers.add(worker);
+                worker.start();
+            }
+        }
+
+        void stop() {
+            for (final Thread worker : workers) {
+                worker.interrupt();
+            }
+        }
+
+        private void work(final StagedLicenseKeyPipeline pipeline, final Stage next) {
+            try {
+                while (true) {
+                    final Job job = queue.take();
+                    if (process(pipeline, job)) {
+                        if (null != next) {
+                            next.queue.put(job);
+                        } else {
+                            pipeline.complete(job);
+                        }
+                    }
+                }
+            } catch (InterruptedException ignored) {
+                // The pipeline has been closed, so there are no more jobs.
+            }
+        }
+
+        private boolean process(final StagedLicenseKeyPipeline pipeline, final Job job) {
+            final long start = nanoTime();
+            try {
+                step.process(job);
+                return true;
+            } catch (Throwable e) {
+                // Catching errors, too, keeps the worker alive, so that close() doesn't wait forever:
+                pipeline.fail(job, e);
+                return false;
+            } finally {
+                final long nanos = nanoTime() - start;
+                count.increment();
+                totalNanos.add(nanos);
+                maxNanos.accumulateAndGet(nanos, Math::max);
+            }
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public long count() {
+            return count.sum();
+        }
+
+        @Override
+        public long totalNanos() {
+            return totalNanos.sum();
+        }
+
+        @Override
+        public long maxNanos() {
+            return maxNanos.get();
+        }
+
+        @Override
+        public int queued() {
+            return queue.size();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.core;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed number of reentrant locks which get selected by the identity of a key, e.g. a license key store.
+ * Unlike synchronizing on the key, waiting for one of these locks doesn't pin the carrier thread of a virtual thread.
+ * Different keys may share the same lock, so a thread must not hold more than one of these locks at a time in order
+ * to avoid deadlocks.
+ * This class is thread-safe.
+ */
+final class StripedLocks {
+
+    private final ReentrantLock[] locks;
+
+    StripedLocks(final int stripes) {
+        if (0 >= stripes || 0 != (stripes & stripes - 1)) {
+            throw new IllegalArgumentException();
+        }
+        locks = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /** Returns the lock for the given key. */
+    ReentrantLock of(final Object key) {
+        int h = System.identityHashCode(key);
+        h ^= h >>> 16;
+        return locks[h & locks.length - 1];
+    }
+}
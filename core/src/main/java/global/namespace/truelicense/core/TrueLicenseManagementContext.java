@@ -17,61 +17,129 @@ import global.namespace.truelicense.api.passwd.Password;
 import global.namespace.truelicense.api.passwd.PasswordPolicy;
 import global.namespace.truelicense.api.passwd.PasswordProtection;
 import global.namespace.truelicense.api.passwd.PasswordUsage;
+import global.namespace.truelicense.core.auth.Notary;
 import global.namespace.truelicense.core.misc.Strings;
 import global.namespace.truelicense.obfuscate.Obfuscate;
 
+import javax.crypto.BadPaddingException;
+import javax.crypto.IllegalBlockSizeException;
 import javax.security.auth.x500.X500Principal;
+import java.io.CharConversionException;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.time.Clock;
-import java.util.Calendar;
-import java.util.Date;
-import java.util.Optional;
+import java.util.*;
 import java.util.concurrent.Callable;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.ZipException;
 
 import static global.namespace.fun.io.bios.BIOS.*;
 import static global.namespace.truelicense.core.Messages.message;
 import static java.util.Calendar.DATE;
 import static java.util.Calendar.getInstance;
+import static java.util.Collections.newSetFromMap;
+import static java.util.Collections.synchronizedSet;
 
 @SuppressWarnings({"OptionalUsedAsFieldOrParameterType", "unchecked", "OptionalGetWithoutIsPresent"})
 final class TrueLicenseManagementContext implements LicenseManagementContext, AuthenticationFactory, EncryptionFactory {
 
+    // The locks for modifying license key stores.
+    // They are shared by all license managers, just like the stores may be.
+    private static final StripedLocks storeLocks = new StripedLocks(64);
+
     private final AuthenticationFactory authenticationFactory;
     private final LicenseManagementAuthorization authorization;
     private final long cachePeriodMillis;
+    private final int cacheSize;
+    private final boolean changeDetection;
     private final Clock clock;
     private final Codec codec;
     private final Filter compression;
     private final String encryptionAlgorithm;
     private final EncryptionFactory encryptionFactory;
+    private final long failureCachePeriodMillis;
     private final LicenseFactory licenseFactory;
-    private final Optional<LicenseInitialization> initialization;
-    private final LicenseFunctionComposition initializationComposition;
+    private final LicenseInitialization initialization;
     private final PasswordPolicy passwordPolicy;
     private final RepositoryFactory<?> repositoryFactory;
     private final String keystoreType;
+    private final boolean secretKeyCaching;
     private final String subject;
-    private final Optional<LicenseValidation> validation;
-    private final LicenseFunctionComposition validationComposition;
+    private final LicenseValidation validation;
+    private final boolean customValidation;
+
+    // The resources which cache key material and hence need to get closed when this context gets closed.
+    // The references are weak so that license managers which have been built from this context can get garbage
+    // collected.
+    private final Set<AutoCloseable> resources = synchronizedSet(newSetFromMap(new WeakHashMap<>()));
 
     TrueLicenseManagementContext(final TrueLicenseManagementContextBuilder b) {
         this.authenticationFactory = b.authenticationFactory;
         this.authorization = b.authorization;
         this.cachePeriodMillis = b.cachePeriodMillis;
+        this.cacheSize = b.cacheSize;
+        this.changeDetection = b.changeDetection;
         this.clock = b.clock;
         this.codec = b.codecFactory.get().codec();
         this.compression = b.compression.get();
         this.encryptionAlgorithm = Strings.requireNonEmpty(b.encryptionAlgorithm);
         this.encryptionFactory = b.encryptionFactory.get();
+        this.failureCachePeriodMillis = b.failureCachePeriodMillis;
         this.licenseFactory = b.licenseFactory.get();
-        this.initialization = b.initialization;
-        this.initializationComposition = b.initializationComposition;
         this.passwordPolicy = b.passwordPolicy;
         this.repositoryFactory = b.repositoryFactory.get();
         this.keystoreType = Strings.requireNonEmpty(b.keystoreType);
+        this.secretKeyCaching = b.secretKeyCaching;
         this.subject = Strings.requireNonEmpty(b.subject);
-        this.validation = b.validation;
-        this.validationComposition = b.validationComposition;
+        // Compose the initialization and validation once so that they can get reused for each call:
+        final LicenseInitialization initialization = new TrueLicenseInitialization();
+        this.initialization = b.initialization
+                .map(first -> b.initializationComposition.compose(first, initialization))
+                .orElse(initialization);
+        final LicenseValidation validation = new TrueLicenseValidation();
+        this.validation = b.validation
+                .map(first -> b.validationComposition.compose(first, validation))
+                .orElse(validation);
+        this.customValidation = b.validation.isPresent();
+    }
+
+    private <T> T register(final T resource) {
+        if (resource instanceof AutoCloseable) {
+            resources.add((AutoCloseable) resource);
+        }
+        return resource;
+    }
+
+    @Override
+    public void close() {
+        final List<AutoCloseable> list;
+        synchronized (resources) {
+            list = new ArrayList<>(resources);
+            resources.clear();
+        }
+        // Close all resources even if some of them fail:
+        Exception failure = null;
+        for (final AutoCloseable resource : list) {
+            try {
+                resource.close();
+            } catch (Exception e) {
+                if (null == failure) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (null != failure) {
+            throw new UncheckedLicenseManagementException(new LicenseManagementException(failure));
+        }
     }
 
     private static <V> V callChecked(final Callable<V> task) throws LicenseManagementException {
@@ -84,9 +152,32 @@ final class TrueLicenseManagementContext implements LicenseManagementContext, Au
         }
     }
 
+    /**
+     * Returns {@code true} if and only if the given exception indicates that a license key is not authentic, that is
+     * if it fails the integrity check or cannot get decrypted, decompressed or decoded.
+     * An I/O exception gets unwrapped because cipher streams report decryption failures as the cause of an I/O
+     * exception.
+     * Any other exception, e.g. a failure to load the keystore or a weak password, indicates an error in the
+     * configuration instead.
+     */
+    private static boolean tampered(Throwable e) {
+        for (; null != e; e = e instanceof IOException ? e.getCause() : null) {
+            if (e instanceof RepositoryIntegrityException
+                    || e instanceof BadPaddingException // includes AEADBadTagException
+                    || e instanceof IllegalBlockSizeException
+                    || e instanceof ZipException
+                    || e instanceof EOFException
+                    || e instanceof StreamCorruptedException
+                    || e instanceof CharConversionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public Authentication authentication(AuthenticationParameters authenticationParameters) {
-        return authenticationFactory.authentication(authenticationParameters);
+        return register(authenticationFactory.authentication(authenticationParameters));
     }
 
     private LicenseManagementAuthorization authorization() {
@@ -97,6 +188,18 @@ final class TrueLicenseManagementContext implements LicenseManagementContext, Au
         return cachePeriodMillis;
     }
 
+    private int cacheSize() {
+        return cacheSize;
+    }
+
+    private long failureCachePeriodMillis() {
+        return failureCachePeriodMillis;
+    }
+
+    private boolean changeDetection() {
+        return changeDetection;
+    }
+
     @Override
     public Codec codec() {
         return codec;
@@ -117,14 +220,11 @@ final class TrueLicenseManagementContext implements LicenseManagementContext, Au
 
     @Override
     public Encryption encryption(EncryptionParameters encryptionParameters) {
-        return encryptionFactory.encryption(encryptionParameters);
+        return register(encryptionFactory.encryption(encryptionParameters));
     }
 
     private LicenseInitialization initialization() {
-        final LicenseInitialization second = new TrueLicenseInitialization();
-        return initialization
-                .map(first -> initializationComposition.compose(first, second))
-                .orElse(second);
+        return initialization;
     }
 
     @Override
@@ -132,6 +232,10 @@ final class TrueLicenseManagementContext implements LicenseManagementContext, Au
         return licenseFactory;
     }
 
+    private long millis() {
+        return clock.millis();
+    }
+
     private Date now() {
         return Date.from(clock.instant());
     }
@@ -149,14 +253,21 @@ final class TrueLicenseManagementContext implements LicenseManagementContext, Au
         return keystoreType;
     }
 
+    private boolean secretKeyCaching() {
+        return secretKeyCaching;
+    }
+
     @Override
     public String subject() {
         return subject;
     }
 
     private LicenseValidation validation() {
-        final LicenseValidation second = new TrueLicenseValidation();
-        return validation.map(first -> validationComposition.compose(first, second)).orElse(second);
+        return validation;
+    }
+
+    private boolean customValidation() {
+        return customValidation;
     }
 
     @Override
@@ -211,6 +322,7 @@ final class TrueLicenseManagementContext implements LicenseManagementContext, Au
         Optional<Filter> encryption = Optional.empty();
         int ftpDays;
         Optional<ConsumerLicenseManager> parent = Optional.empty();
+        Optional<Path> path = Optional.empty();
         Optional<Store> store = Optional.empty();
 
         @SuppressWarnings("WeakerAccess")
@@ -244,12 +356,15 @@ final class TrueLicenseManagementContext implements LicenseManagementContext, Au
 
         @SuppressWarnings("WeakerAccess")
         public final This storeIn(final Store store) {
+            this.path = Optional.empty();
             this.store = Optional.ofNullable(store);
             return (This) this;
         }
 
-        public final This storeInPath(Path path) {
-            return storeIn(path(path));
+        public final This storeInPath(final Path path) {
+            storeIn(path(path));
+            this.path = Optional.of(path);
+            return (This) this;
         }
 
         public final This storeInSystemPreferences(Class<?> classInPackage) {
@@ -420,6 +535,11 @@ final class TrueLicenseManagementContext implements LicenseManagementContext, Au
         public PasswordProtection protection() {
             return new CheckedPasswordProtection(protection);
         }
+
+        @Override
+        public boolean secretKeyCaching() {
+            return TrueLicenseManagementContext.this.secretKeyCaching();
+        }
     }
 
     final class TrueLicenseManagerParameters implements LicenseManagerParameters {
@@ -427,14 +547,18 @@ final class TrueLicenseManagementContext implements LicenseManagementContext, Au
         final Authentication authentication;
         final Optional<Filter> encryption;
         final int ftpDays;
+        final LicenseInitialization initialization;
         final Optional<ConsumerLicenseManager> parent;
+        final Optional<Path> path;
         final Optional<Store> store;
 
         TrueLicenseManagerParameters(final TrueLicenseManagerBuilder<?> b) {
             this.authentication = b.authentication.get();
             this.encryption = b.encryption;
             this.ftpDays = b.ftpDays;
+            this.initialization = ftpInitialization(TrueLicenseManagementContext.this.initialization(), b.ftpDays);
             this.parent = b.parent;
+            this.path = b.path;
             this.store = b.store;
         }
 
@@ -463,7 +587,10 @@ final class TrueLicenseManagementContext implements LicenseManagementContext, Au
         }
 
         LicenseInitialization initialization() {
-            final LicenseInitialization initialization = context().initialization();
+            return initialization;
+        }
+
+        private LicenseInitialization ftpInitialization(final LicenseInitialization initialization, final int ftpDays) {
             if (0 != ftpDays) {
                 return bean -> {
                     initialization.initialize(bean);
@@ -482,6 +609,36 @@ final class TrueLicenseManagementContext implements LicenseManagementContext, Au
             return licenseFactory.license();
         }
 
+        /**
+         * Returns a duplicate of the given license.
+         * If the license is a {@link LicenseStub}, then it gets {@linkplain LicenseStub#copyTo copied} to a new license
+         * from the license factory, provided that the result is an equal instance of the same class - otherwise, e.g.
+         * if a subclass adds custom properties without overriding {@code copyTo}, then the copy would be incomplete.
+         * Otherwise, the license gets cloned by encoding and decoding it with the codec.
+         */
+        License duplicate(final License license) throws Exception {
+            if (license instanceof LicenseStub) {
+                final License duplicate = license();
+                if (duplicate.getClass() == license.getClass()) {
+                    try {
+                        ((LicenseStub) license).copyTo(duplicate);
+                        if (duplicate.equals(license)) {
+                            return duplicate;
+                        }
+                    } catch (CloneNotSupportedException ignored) {
+                    }
+                }
+            }
+            return memory().connect(codec()).clone(license);
+        }
+
+        License validatedDuplicate(final License license) throws Exception {
+            final License duplicate = duplicate(license);
+            initialization().initialize(duplicate);
+            validation().validate(duplicate);
+            return duplicate;
+        }
+
         Class<? extends License> licenseClass() {
             return licenseFactory.licenseClass();
         }
@@ -513,6 +670,7 @@ final class TrueLicenseManagementContext implements LicenseManagementContext, Au
         final class ChainedLicenseManager extends CachingLicenseManager {
 
             volatile Optional<Boolean> canGenerateLicenseKeys = Optional.empty();
+            final ReentrantLock canGenerateLicenseKeysLock = new ReentrantLock();
 
             @Override
             public void install(Source source) throws LicenseManagementException {
@@ -528,39 +686,68 @@ final class TrueLicenseManagementContext implements LicenseManagementContext, Au
 
             @Override
             public License load() throws LicenseManagementException {
+                final Optional<License> license = tryLoad().license();
+                return license.isPresent() ? license.get() : super.load(); // throws the appropriate exception
+            }
+
+            @Override
+            public LicenseResult tryLoad() throws LicenseManagementException {
                 try {
-                    return parent().load();
-                } catch (final LicenseManagementException first) {
-                    try {
-                        return super.load(); // uses store()
-                    } catch (final LicenseManagementException second) {
-                        synchronized (store()) {
-                            try {
-                                return super.load(); // repeat
-                            } catch (final LicenseManagementException third) {
-                                return generateIffNewFtp(third).license(); // uses store(), too
-                            }
-                        }
+                    final LicenseResult first = parent().tryLoad();
+                    if (first.status().isAuthentic()) {
+                        return first;
                     }
+                } catch (LicenseManagementException ignored) {
+                }
+                final LicenseResult second = super.tryLoad(); // uses store()
+                if (second.status().isAuthentic()) {
+                    return second;
+                }
+                final ReentrantLock lock = storeLocks.of(store());
+                lock.lock();
+                try {
+                    final LicenseResult third = super.tryLoad(); // repeat
+                    if (LicenseStatus.MISSING == third.status() && canGenerateLicenseKeys()) {
+                        return LicenseResult.of(LicenseStatus.VALID, generateFtp().license()); // uses store(), too
+                    }
+                    return third;
+                } finally {
+                    lock.unlock();
                 }
             }
 
             @Override
             public void verify() throws LicenseManagementException {
+                if (!tryVerify().isValid()) {
+                    super.verify(); // throws the appropriate exception
+                }
+            }
+
+            @Override
+            public LicenseStatus tryVerify() throws LicenseManagementException {
                 try {
-                    parent().verify();
-                } catch (final LicenseManagementException first) {
-                    try {
-                        super.verify(); // uses store()
-                    } catch (final LicenseManagementException second) {
-                        synchronized (store()) {
-                            try {
-                                super.verify(); // repeat
-                            } catch (final LicenseManagementException third) {
-                                generateIffNewFtp(third); // uses store(), too
-                            }
-                        }
+                    if (parent().tryVerify().isValid()) {
+                        return LicenseStatus.VALID;
                     }
+                } catch (LicenseManagementException ignored) {
+                }
+                final LicenseStatus second = super.tryVerify(); // uses store()
+                if (second.isValid()) {
+                    return second;
+                }
+                // Only a reader which finds no valid license key gets here, so a valid cached license is never blocked by
+                // the generation of the FTP license key:
+                final ReentrantLock lock = storeLocks.of(store());
+                lock.lock();
+                try {
+                    final LicenseStatus third = super.tryVerify(); // repeat
+                    if (LicenseStatus.MISSING == third && canGenerateLicenseKeys()) {
+                        generateFtp(); // uses store(), too
+                        return LicenseStatus.VALID;
+                    }
+                    return third;
+                } finally {
+                    lock.unlock();
                 }
             }
 
@@ -576,104 +763,194 @@ final class TrueLicenseManagementContext implements LicenseManagementContext, Au
                 }
             }
 
-            boolean canGenerateLicenseKeys() {
+            boolean canGenerateLicenseKeys() throws LicenseManagementException {
                 if (!canGenerateLicenseKeys.isPresent()) {
-                    synchronized (this) {
+                    canGenerateLicenseKeysLock.lock();
+                    try {
                         if (!canGenerateLicenseKeys.isPresent()) {
-                            try {
-                                // Test encoding a new license key to /dev/null .
-                                super.generateKeyFrom(license()).saveTo(memory());
-                                canGenerateLicenseKeys = Optional.of(Boolean.TRUE);
-                            } catch (LicenseManagementException ignored) {
-                                canGenerateLicenseKeys = Optional.of(Boolean.FALSE);
+                            final Authentication authentication = authentication();
+                            if (authentication instanceof Notary) {
+                                // Test the authorization and the license bean like generating a license key would,
+                                // but instead of encoding and signing it, just test unlocking the private key.
+                                final Notary notary = (Notary) authentication;
+                                boolean can;
+                                try {
+                                    can = callChecked(() -> {
+                                        authorization().clearGenerate(this);
+                                        validatedDuplicate(license());
+                                        return true;
+                                    });
+                                } catch (LicenseManagementException ignored) {
+                                    can = false;
+                                }
+                                canGenerateLicenseKeys = Optional.of(can && callChecked(notary::canSign));
+                            } else {
+                                try {
+                                    // Test encoding a new license key to /dev/null .
+                                    super.generateKeyFrom(license()).saveTo(memory());
+                                    canGenerateLicenseKeys = Optional.of(Boolean.TRUE);
+                                } catch (LicenseManagementException ignored) {
+                                    canGenerateLicenseKeys = Optional.of(Boolean.FALSE);
+                                }
                             }
                         }
+                    } finally {
+                        canGenerateLicenseKeysLock.unlock();
                     }
                 }
                 return canGenerateLicenseKeys.get();
             }
 
-            LicenseKeyGenerator generateIffNewFtp(final LicenseManagementException e) throws LicenseManagementException {
-                if (!canGenerateLicenseKeys()) {
-                    throw e;
-                }
+            /** Generates a license key for the free trial period and saves it to the store, which must not exist. */
+            LicenseKeyGenerator generateFtp() throws LicenseManagementException {
                 final Store store = store();
-                if (callChecked(store::exists)) {
-                    throw e;
-                }
-                return super.generateKeyFrom(license()).saveTo(store);
+                final LicenseKeyGenerator generator = super.generateKeyFrom(license()).saveTo(store);
+                cachedFailures.remove(store);
+                return generator;
             }
         }
 
         class CachingLicenseManager extends TrueLicenseManager {
 
-            // These volatile fields get initialized by applying a pure function which
-            // takes the immutable value of the store() property as its single argument.
-            // So some concurrent threads may safely interleave when initializing these
-            // fields without creating a racing condition and thus it's not generally
-            // required to synchronize access to them.
-            volatile Cache<Source, Decoder> cachedDecoder = new Cache<>();
-            volatile Cache<Source, License> cachedLicense = new Cache<>();
+            // The caches associate the decoders and licenses with the license key sources they have been decoded from.
+            // Caching intermediate results for multiple sources prevents them from evicting each other, e.g. when
+            // alternately installing from a source and verifying the store.
+            // Each association is stamped with a fingerprint of its source so that changes can be detected.
+            final Cache<Source, Decoder> cachedDecoders = new Cache<>(cacheSize(), cachePeriodMillis());
+            final Cache<Source, CachedLicense> cachedLicenses = new Cache<>(cacheSize(), cachePeriodMillis());
+
+            // The failures to authenticate a license key source get cached, too, so that repeatedly verifying a store
+            // which contains a tampered license key fails fast instead of reading, decrypting and authenticating it
+            // again and again.
+            // Only integrity failures get cached because they are deterministic for the content of the source,
+            // whereas an I/O failure may be transient.
+            // This cache has its own period because failures are expected to get fixed by installing a license key,
+            // which may happen externally.
+            final Cache<Source, RepositoryIntegrityException> cachedFailures =
+                    new Cache<>(cacheSize(), failureCachePeriodMillis());
 
-            @SuppressWarnings("SynchronizationOnLocalVariableOrMethodParameter")
             @Override
             public void install(final Source source) throws LicenseManagementException {
-                final Optional<Source> optSource = Optional.of(source);
                 final Store store = store();
-                final Optional<Source> optStore = Optional.of(store);
-                synchronized (store) {
+                final ReentrantLock lock = storeLocks.of(store);
+                lock.lock();
+                try {
+                    cachedFailures.remove(source); // retry
                     super.install(source);
 
-                    // As a side effect of the license key installation, the cached
-                    // artifactory and license get associated to the source unless this
-                    // is a re-installation from an equal source or the cached objects
-                    // have already been obsoleted by a time-out, that is, if the cache
-                    // period is equal or close to zero.
-                    assert cachedDecoder.hasKey(optSource) ||
-                            cachedDecoder.hasKey(optStore) ||
-                            cachedDecoder.obsolete();
-                    assert cachedLicense.hasKey(optSource) ||
-                            cachedLicense.hasKey(optStore) ||
-                            cachedLicense.obsolete();
-
-                    // Update the association of the cached artifactory and license to
-                    // the store.
-                    cachedDecoder = cachedDecoder.key(optStore);
-                    cachedLicense = cachedLicense.key(optStore);
+                    // As a side effect of the license key installation, the cached decoder and license get associated
+                    // to the store.
+                    // Any results which have been cached for the previous content of the store get removed.
+                    final Object fingerprint = fingerprint(store);
+                    cachedDecoders.move(source, store, fingerprint);
+                    cachedLicenses.move(source, store, fingerprint);
+                    cachedFailures.remove(store);
+                } finally {
+                    lock.unlock();
                 }
             }
 
             @Override
             public void uninstall() throws LicenseManagementException {
-                final Cache<Source, Decoder> cachedDecoder = new Cache<>();
-                final Cache<Source, License> cachedLicense = new Cache<>();
-                synchronized (store()) {
+                final Store store = store();
+                final ReentrantLock lock = storeLocks.of(store);
+                lock.lock();
+                try {
                     super.uninstall();
-                    this.cachedDecoder = cachedDecoder;
-                    this.cachedLicense = cachedLicense;
+                    cachedDecoders.remove(store);
+                    cachedLicenses.remove(store);
+                    cachedFailures.remove(store);
+                } finally {
+                    lock.unlock();
                 }
             }
 
             @Override
             void validate(final Source source) throws Exception {
-                final Optional<Source> optSource = Optional.of(source);
-                Optional<License> optLicense = cachedLicense.map(optSource);
-                if (!optLicense.isPresent()) {
-                    optLicense = Optional.of(decodeLicense(source));
-                    cachedLicense = new Cache<>(optSource, optLicense, cachePeriodMillis());
+                final CachedLicense cached = cachedLicense(source);
+                // Fast path: Without a custom validation, a cached license which is valid at the current time does
+                // not need to get validated again.
+                // Otherwise, the full validation gets applied so that it throws the appropriate exception.
+                if (customValidation() || !cached.isValidAt(millis())) {
+                    validation().validate(cached.license);
                 }
-                validation().validate(optLicense.get());
+            }
+
+            @Override
+            CachedLicense cachedLicense(final Source source) throws Exception {
+                final Object fingerprint = fingerprint(source);
+                CachedLicense cached = cachedLicenses.get(source, fingerprint);
+                if (null == cached) {
+                    cached = new CachedLicense(decodeLicense(source));
+                    cachedLicenses.put(source, cached, fingerprint);
+                }
+                return cached;
+            }
+
+            @Override
+            public long cacheHits() {
+                return cachedLicenses.hits();
+            }
+
+            @Override
+            public long cacheMisses() {
+                return cachedLicenses.misses();
+            }
+
+            /**
+             * Returns a duplicate of the cached license so that the caller cannot modify the cached license.
+             * This is a lot cheaper than decoding the license again.
+             */
+            @Override
+            License export(final CachedLicense cached) throws Exception {
+                return duplicate(cached.license);
             }
 
             @Override
             Decoder authenticate(final Source source) throws Exception {
-                final Optional<Source> optSource = Optional.of(source);
-                Optional<Decoder> optDecoder = cachedDecoder.map(optSource);
-                if (!optDecoder.isPresent()) {
-                    optDecoder = Optional.of(super.authenticate(source));
-                    cachedDecoder = new Cache<>(optSource, optDecoder, cachePeriodMillis());
+                final Object fingerprint = fingerprint(source);
+                Decoder decoder = cachedDecoders.get(source, fingerprint);
+                if (null == decoder) {
+                    final RepositoryIntegrityException failure = cachedFailures.get(source, fingerprint);
+                    if (null != failure) {
+                        // Don't rethrow the cached instance because its stack trace and suppressed exceptions would
+                        // get shared by all callers.
+                        final RepositoryIntegrityException e = new RepositoryIntegrityException();
+                        e.initCause(failure);
+                        throw e;
+                    }
+                    try {
+                        decoder = super.authenticate(source);
+                    } catch (RepositoryIntegrityException e) {
+                        cachedFailures.put(source, e, fingerprint);
+                        throw e;
+                    }
+                    cachedDecoders.put(source, decoder, fingerprint);
+                }
+                return decoder;
+            }
+
+            /**
+             * Returns a fingerprint of the content of the given source.
+             * The fingerprint must be computed <em>before</em> decoding the source so that a concurrent change results
+             * in a cache miss rather than a stale cache hit.
+             * If change detection is disabled, then a constant gets returned.
+             */
+            Object fingerprint(final Source source) {
+                if (!changeDetection()) {
+                    return Boolean.TRUE;
+                }
+                try {
+                    if (path.isPresent() && store.filter(s -> s == source).isPresent()) {
+                        final BasicFileAttributes attributes =
+                                Files.readAttributes(path.get(), BasicFileAttributes.class);
+                        return Arrays.asList(attributes.fileKey(), attributes.lastModifiedTime(), attributes.size());
+                    } else {
+                        return ByteBuffer.wrap(source.content());
+                    }
+                } catch (Exception e) {
+                    return new Object(); // never equal => cache miss
                 }
-                return optDecoder.get();
             }
         }
 
@@ -687,6 +964,7 @@ final class TrueLicenseManagementContext implements LicenseManagementContext, Au
                 class TrueLicenseKeyGenerator implements LicenseKeyGenerator {
 
                     private final Object model = repositoryFactory().model();
+                    private final ReentrantLock lock = new ReentrantLock();
                     private Decoder decoder;
 
                     @Override
@@ -713,28 +991,17 @@ final class TrueLicenseManagementContext implements LicenseManagementContext, Au
                         return model;
                     }
 
-                    synchronized private void init() throws Exception {
-                        if (null == decoder) {
-                            decoder = authentication()
-                                    .sign(repositoryFactory().controller(codec(), model), validatedBean());
+                    private void init() throws Exception {
+                        lock.lock();
+                        try {
+                            if (null == decoder) {
+                                decoder = authentication()
+                                        .sign(repositoryFactory().controller(codec(), model), validatedDuplicate(bean));
+                            }
+                        } finally {
+                            lock.unlock();
                         }
                     }
-
-                    private License validatedBean() throws Exception {
-                        final License duplicate = initializedBean();
-                        validation().validate(duplicate);
-                        return duplicate;
-                    }
-
-                    private License initializedBean() throws Exception {
-                        final License duplicate = duplicatedBean();
-                        initialization().initialize(duplicate);
-                        return duplicate;
-                    }
-
-                    private License duplicatedBean() throws Exception {
-                        return memory().connect(codec()).clone(bean);
-                    }
                 }
 
                 return callChecked(() -> {
@@ -743,6 +1010,38 @@ final class TrueLicenseManagementContext implements LicenseManagementContext, Au
                 });
             }
 
+            @Override
+            public LicenseKeyPipeline pipeline(final int threads, final int capacity) {
+                return new StagedLicenseKeyPipeline(threads, capacity,
+                        new StagedLicenseKeyPipeline.Stage("validate", job -> {
+                            authorization().clearGenerate(this);
+                            job.license = validatedDuplicate(job.bean);
+                        }),
+                        new StagedLicenseKeyPipeline.Stage("sign", job -> {
+                            job.model = repositoryFactory().model();
+                            authentication().sign(repositoryFactory().controller(codec(), job.model), job.license);
+                        }),
+                        new StagedLicenseKeyPipeline.Stage("encode", job -> {
+                            final Store store = memory();
+                            codec().encoder(store).encode(job.model);
+                            job.model = null;
+                            job.bytes = store.content();
+                        }),
+                        new StagedLicenseKeyPipeline.Stage("compress", job -> {
+                            final Store store = memory();
+                            store.map(compression()).content(job.bytes);
+                            job.bytes = store.content();
+                        }),
+                        // Encrypting the compressed content is equivalent to the composite filter used by
+                        // the license key generator:
+                        new StagedLicenseKeyPipeline.Stage("encrypt", job -> {
+                            final Store store = memory();
+                            store.content(job.bytes);
+                            job.bytes = null;
+                            copy(store, job.sink.map(encryption()));
+                        }));
+            }
+
             @Override
             public void install(final Source source) throws LicenseManagementException {
                 callChecked(() -> {
@@ -757,16 +1056,48 @@ final class TrueLicenseManagementContext implements LicenseManagementContext, Au
             public License load() throws LicenseManagementException {
                 return callChecked(() -> {
                     authorization().clearLoad(this);
-                    return decodeLicense(store());
+                    return export(cachedLicense(store()));
                 });
             }
 
             @Override
             public void verify() throws LicenseManagementException {
-                callChecked(() -> {
+                // Don't use callChecked(...) here in order to avoid allocating a lambda on this hot path.
+                try {
                     authorization().clearVerify(this);
                     validate(store());
-                    return null;
+                } catch (RuntimeException | LicenseManagementException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new LicenseManagementException(e);
+                }
+            }
+
+            @Override
+            public LicenseStatus tryVerify() throws LicenseManagementException {
+                // Don't use callChecked(...) here in order to avoid allocating a lambda on this hot path.
+                try {
+                    authorization().clearVerify(this);
+                    return status(store());
+                } catch (RuntimeException | LicenseManagementException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new LicenseManagementException(e);
+                }
+            }
+
+            @Override
+            public LicenseResult tryLoad() throws LicenseManagementException {
+                return callChecked(() -> {
+                    authorization().clearLoad(this);
+                    final Store store = store();
+                    if (!store.exists()) {
+                        return LicenseResult.of(LicenseStatus.MISSING, null);
+                    }
+                    final CachedLicense cached = cachedLicenseUnlessTampered(store);
+                    return null != cached
+                            ? LicenseResult.of(status(cached), export(cached))
+                            : LicenseResult.of(LicenseStatus.TAMPERED, null);
                 });
             }
 
@@ -792,6 +1123,58 @@ final class TrueLicenseManagementContext implements LicenseManagementContext, Au
                 validation().validate(decodeLicense(source));
             }
 
+            LicenseStatus status(final Store store) throws Exception {
+                if (!store.exists()) {
+                    return LicenseStatus.MISSING;
+                }
+                final CachedLicense cached = cachedLicenseUnlessTampered(store);
+                return null != cached ? status(cached) : LicenseStatus.TAMPERED;
+            }
+
+            /**
+             * Returns the cached license for the license key in the given store or {@code null} if the license key has
+             * been tampered with.
+             * Any other failure gets rethrown.
+             *
+             * @see #tampered(Throwable)
+             */
+            CachedLicense cachedLicenseUnlessTampered(final Store store) throws Exception {
+                try {
+                    return cachedLicense(store);
+                } catch (Exception e) {
+                    if (tampered(e)) {
+                        return null;
+                    }
+                    throw e;
+                }
+            }
+
+            /**
+             * Returns the status of the given license without allocating an exception, unless there is a custom
+             * validation, which can only signal an invalid license by throwing an exception.
+             */
+            LicenseStatus status(final CachedLicense cached) {
+                if (customValidation()) {
+                    try {
+                        validation().validate(cached.license);
+                        return LicenseStatus.VALID;
+                    } catch (LicenseValidationException e) {
+                        final LicenseStatus status = cached.statusAt(millis());
+                        return status.isValid() ? LicenseStatus.INVALID : status;
+                    }
+                }
+                return cached.statusAt(millis());
+            }
+
+            CachedLicense cachedLicense(Source source) throws Exception {
+                return new CachedLicense(decodeLicense(source));
+            }
+
+            /** Returns the license of the given cached license for the caller, which may modify it. */
+            License export(CachedLicense cached) throws Exception {
+                return cached.license;
+            }
+
             License decodeLicense(Source source) throws Exception {
                 return authenticate(source).decode(licenseClass());
             }
@@ -917,6 +1300,49 @@ final class TrueLicenseManagementContext implements LicenseManagementContext, Au
         }
     }
 
+    /**
+     * A license with its validity period in milliseconds since the epoch.
+     * The validity period is computed once when the license is decoded.
+     * If the license fails any of the checks of the {@link TrueLicenseValidation} which do not depend on the current
+     * time, then it's inconsistent and never valid.
+     */
+    final class CachedLicense {
+
+        final License license;
+        final boolean consistent;
+        final long notBeforeMillis, notAfterMillis;
+
+        CachedLicense(final License license) {
+            this.license = license;
+            final Date notBefore = license.getNotBefore(), notAfter = license.getNotAfter();
+            this.consistent = 0 < license.getConsumerAmount() &&
+                    null != license.getConsumerType() &&
+                    null != license.getHolder() &&
+                    null != license.getIssued() &&
+                    null != license.getIssuer() &&
+                    subject().equals(license.getSubject());
+            this.notBeforeMillis = null != notBefore ? notBefore.getTime() : Long.MIN_VALUE;
+            this.notAfterMillis = null != notAfter ? notAfter.getTime() : Long.MAX_VALUE;
+        }
+
+        boolean isValidAt(long millis) {
+            return consistent && notBeforeMillis <= millis && millis <= notAfterMillis;
+        }
+
+        /** Returns the status of this license at the given time in the same order of checks as the validation. */
+        LicenseStatus statusAt(final long millis) {
+            if (!consistent) {
+                return LicenseStatus.INVALID;
+            } else if (millis > notAfterMillis) {
+                return LicenseStatus.EXPIRED;
+            } else if (millis < notBeforeMillis) {
+                return LicenseStatus.NOT_YET_VALID;
+            } else {
+                return LicenseStatus.VALID;
+            }
+        }
+    }
+
     final class CheckedPasswordProtection implements PasswordProtection {
 
         final PasswordProtection protection;
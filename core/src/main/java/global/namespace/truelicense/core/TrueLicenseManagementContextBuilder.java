@@ -26,16 +26,20 @@ final class TrueLicenseManagementContextBuilder implements LicenseManagementCont
     AuthenticationFactory authenticationFactory = Notary::new;
     LicenseManagementAuthorization authorization = LicenseManagementAuthorization.ALL;
     long cachePeriodMillis = 30 * 60 * 1000;
+    int cacheSize = 16;
+    boolean changeDetection;
     Clock clock = Clock.systemDefaultZone();
     Optional<CodecFactory> codecFactory = Optional.empty();
     Optional<Filter> compression = Optional.empty();
     String encryptionAlgorithm = "";
     Optional<EncryptionFactory> encryptionFactory = Optional.empty();
+    long failureCachePeriodMillis;
     Optional<LicenseFactory> licenseFactory = Optional.empty();
     Optional<LicenseInitialization> initialization = Optional.empty();
     LicenseFunctionComposition initializationComposition = LicenseFunctionComposition.decorate;
     PasswordPolicy passwordPolicy = new MinimumPasswordPolicy();
     Optional<RepositoryFactory<?>> repositoryFactory = Optional.empty();
+    boolean secretKeyCaching;
     String subject = "";
     String keystoreType = "";
     Optional<LicenseValidation> validation = Optional.empty();
@@ -62,6 +66,21 @@ final class TrueLicenseManagementContextBuilder implements LicenseManagementCont
         return this;
     }
 
+    @Override
+    public LicenseManagementContextBuilder cacheSize(final int cacheSize) {
+        if (cacheSize <= 0) {
+            throw new IllegalArgumentException("" + cacheSize);
+        }
+        this.cacheSize = cacheSize;
+        return this;
+    }
+
+    @Override
+    public LicenseManagementContextBuilder changeDetection(final boolean changeDetection) {
+        this.changeDetection = changeDetection;
+        return this;
+    }
+
     @Override
     public LicenseManagementContextBuilder clock(final Clock clock) {
         this.clock = requireNonNull(clock);
@@ -92,6 +111,15 @@ final class TrueLicenseManagementContextBuilder implements LicenseManagementCont
         return this;
     }
 
+    @Override
+    public LicenseManagementContextBuilder failureCachePeriodMillis(final long failureCachePeriodMillis) {
+        if (failureCachePeriodMillis < 0) {
+            throw new IllegalArgumentException("" + failureCachePeriodMillis);
+        }
+        this.failureCachePeriodMillis = failureCachePeriodMillis;
+        return this;
+    }
+
     @Override
     public LicenseManagementContextBuilder initialization(final LicenseInitialization initialization) {
         this.initialization = Optional.ofNullable(initialization);
@@ -122,6 +150,12 @@ final class TrueLicenseManagementContextBuilder implements LicenseManagementCont
         return this;
     }
 
+    @Override
+    public LicenseManagementContextBuilder secretKeyCaching(final boolean secretKeyCaching) {
+        this.secretKeyCaching = secretKeyCaching;
+        return this;
+    }
+
     @Override
     public LicenseManagementContextBuilder keystoreType(final String keystoreType) {
         this.keystoreType = Strings.requireNonEmpty(keystoreType);
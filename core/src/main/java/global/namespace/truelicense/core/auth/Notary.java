@@ -13,22 +13,35 @@ import global.namespace.truelicense.api.i18n.Message;
 import global.namespace.truelicense.api.passwd.Password;
 import global.namespace.truelicense.api.passwd.PasswordProtection;
 import global.namespace.truelicense.api.passwd.PasswordUsage;
+import global.namespace.truelicense.api.passwd.WeakPasswordException;
+import global.namespace.truelicense.core.crypto.EnginePool;
 import global.namespace.truelicense.obfuscate.Obfuscate;
 
+import javax.security.auth.DestroyFailedException;
 import java.security.KeyStore;
 import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.security.Signature;
+import java.security.UnrecoverableKeyException;
 import java.security.cert.Certificate;
 import java.security.cert.X509Certificate;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
 
 /**
  * Signs or verifies a generic artifact using a private or public key in a keystore entry.
- * This class is immutable.
+ * <p>
+ * The keystore, the private or public key and the signature algorithm are loaded on first use and then cached for the
+ * lifetime of this notary, so that subsequent calls only need to compute the signature itself.
+ * The signature engines are borrowed from an {@link EnginePool} which gets discarded along with the cached keys.
+ * Call {@link #invalidate()} if the keystore has changed or {@link #close()} to wipe the cached key material.
+ * This class is thread-safe:
+ * Closing this notary while another thread is signing or verifying an artifact doesn't affect the other thread because
+ * the cached key material gets wiped only after all pending calls have finished using it.
  */
-public final class Notary implements Authentication {
+public final class Notary implements Authentication, AutoCloseable {
 
     @Obfuscate
     private static final String DEFAULT_ALGORITHM = "SHA1withDSA";
@@ -44,47 +57,155 @@ public final class Notary implements Authentication {
 
     private final AuthenticationParameters parameters;
 
+    // The cache gets replaced as a whole upon invalidation, so a concurrent thread either sees all of the old or all of
+    // the new cached objects, but never a mix of both.
+    private volatile Cache cache = new Cache();
+
     public Notary(final AuthenticationParameters parameters) {
         this.parameters = Objects.requireNonNull(parameters);
     }
 
     @Override
     public Decoder sign(RepositoryController controller, Object artifact) throws Exception {
-        return new Cache().sign(controller, artifact);
+        final Cache cache = acquire();
+        try {
+            return cache.sign(controller, artifact);
+        } finally {
+            cache.release();
+        }
     }
 
     @Override
     public Decoder verify(RepositoryController controller) throws Exception {
-        return new Cache().verify(controller);
+        final Cache cache = acquire();
+        try {
+            return cache.verify(controller);
+        } finally {
+            cache.release();
+        }
+    }
+
+    /**
+     * Returns {@code true} if and only if this notary can {@linkplain #sign sign} artifacts, that is if the keystore
+     * entry is a private key entry which can get unlocked with the key protection.
+     * Unlike signing an artifact, this check doesn't need to encode anything, so it's a cheap way to find out if a
+     * license manager can generate license keys.
+     * As a side effect, the private key gets cached for subsequent signing.
+     *
+     * @return {@code false} if the keystore entry is missing, has no private key or the key protection cannot unlock
+     *         it.
+     * @throws Exception if the keystore cannot get loaded or any other unexpected failure occurs.
+     */
+    public boolean canSign() throws Exception {
+        final Cache cache = acquire();
+        try {
+            cache.privateKey();
+            return true;
+        } catch (NotaryException | UnrecoverableKeyException | WeakPasswordException e) {
+            return false;
+        } finally {
+            cache.release();
+        }
+    }
+
+    /**
+     * Discards the cached keystore, keys and signature algorithm so that they get reloaded from the
+     * {@linkplain AuthenticationParameters authentication parameters} upon next use.
+     */
+    public void invalidate() {
+        replace();
+    }
+
+    /**
+     * {@linkplain #invalidate() Invalidates} this notary and destroys the cached private key, if any, as soon as any
+     * pending calls have finished using it.
+     * This notary remains usable: Any subsequent call reloads the keystore and its keys.
+     */
+    @Override
+    public void close() {
+        replace().release();
+    }
+
+    private synchronized Cache replace() {
+        final Cache cache = this.cache;
+        this.cache = new Cache();
+        return cache;
+    }
+
+    private Cache acquire() {
+        while (true) {
+            final Cache cache = this.cache;
+            if (cache.acquire()) {
+                return cache;
+            }
+            // The cache has been closed and replaced in the meantime, so try again with the new cache.
+        }
     }
 
     private AuthenticationParameters parameters() {
         return parameters;
     }
 
+    // All fields in this class get initialized by applying a pure function which takes the immutable authentication
+    // parameters as their single input, so concurrent threads may safely race when initializing them.
     private final class Cache {
 
-        KeyStore keyStore;
+        volatile KeyStore keyStore;
+        volatile PrivateKey privateKey;
+        volatile PublicKey publicKey;
+        volatile String algorithm;
+
+        // The idle signature engines are still initialized with the private or public key:
+        final EnginePool<Signature> signatures = EnginePool.signatures();
+
+        // The number of pending calls which use this cache plus one until this notary gets closed:
+        final AtomicInteger references = new AtomicInteger(1);
+
+        boolean acquire() {
+            for (int r; 0 < (r = references.get()); ) {
+                if (references.compareAndSet(r, r + 1)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void release() {
+            if (0 == references.decrementAndGet()) {
+                wipe();
+            }
+        }
 
         Decoder sign(RepositoryController controller, Object artifact) throws Exception {
-            final Signature engine = engine();
             final PrivateKey key = privateKey();
-            engine.initSign(key);
-            return controller.sign(engine, artifact);
+            final String algorithm = algorithm();
+            final Signature engine = signatures.borrow(algorithm);
+            try {
+                engine.initSign(key);
+                return controller.sign(engine, artifact);
+            } finally {
+                signatures.release(algorithm, engine);
+            }
         }
 
         Decoder verify(RepositoryController controller) throws Exception {
-            final Signature engine = engine();
             final PublicKey key = publicKey();
-            engine.initVerify(key);
-            return controller.verify(engine);
+            final String algorithm = algorithm();
+            final Signature engine = signatures.borrow(algorithm);
+            try {
+                engine.initVerify(key);
+                return controller.verify(engine);
+            } finally {
+                signatures.release(algorithm, engine);
+            }
         }
 
-        Signature engine() throws Exception {
-            return Signature.getInstance(algorithm());
+        String algorithm() throws Exception {
+            final String a = algorithm;
+            return null != a ? a : (algorithm = newAlgorithm());
         }
 
-        String algorithm() throws Exception {
+        String newAlgorithm() throws Exception {
             final Optional<String> configuredAlgorithm = configuredAlgorithm();
             return configuredAlgorithm.isPresent() ? configuredAlgorithm.get() : defaultAlgorithm();
         }
@@ -99,6 +220,11 @@ public final class Notary implements Authentication {
         }
 
         PrivateKey privateKey() throws Exception {
+            final PrivateKey k = privateKey;
+            return null != k ? k : (privateKey = newPrivateKey());
+        }
+
+        PrivateKey newPrivateKey() throws Exception {
             final KeyStore.Entry entry = keyStoreEntry(PasswordUsage.ENCRYPTION);
             if (entry instanceof KeyStore.PrivateKeyEntry) {
                 return ((KeyStore.PrivateKeyEntry) entry).getPrivateKey();
@@ -108,7 +234,8 @@ public final class Notary implements Authentication {
         }
 
         PublicKey publicKey() throws Exception {
-            return certificate().getPublicKey();
+            final PublicKey k = publicKey;
+            return null != k ? k : (publicKey = certificate().getPublicKey());
         }
 
         Certificate certificate() throws Exception {
@@ -172,6 +299,22 @@ public final class Notary implements Authentication {
             }
         }
 
+        void wipe() {
+            final PrivateKey k = privateKey;
+            if (null != k && !k.isDestroyed()) {
+                try {
+                    k.destroy();
+                } catch (DestroyFailedException ignored) {
+                    // Many providers don't support destroying their keys, so all we can do is to drop the reference.
+                }
+            }
+            privateKey = null;
+            publicKey = null;
+            keyStore = null;
+            algorithm = null;
+            signatures.close();
+        }
+
         Message message(String key) {
             return Messages.message(key, alias());
         }
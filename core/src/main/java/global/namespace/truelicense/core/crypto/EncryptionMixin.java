@@ -9,17 +9,30 @@ import global.namespace.truelicense.api.passwd.Password;
 import global.namespace.truelicense.api.passwd.PasswordProtection;
 import global.namespace.truelicense.api.passwd.PasswordUsage;
 
-import javax.crypto.SecretKey;
-import javax.crypto.SecretKeyFactory;
+import javax.crypto.*;
 import javax.crypto.spec.PBEKeySpec;
+import javax.security.auth.DestroyFailedException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static global.namespace.truelicense.core.crypto.EnginePool.SECRET_KEY_FACTORIES;
 
 /**
- * A mix-in for a password based encryption.
- * This class is immutable.
+ * A mix-in for password based encryptions.
+ * If the {@linkplain EncryptionParameters#secretKeyCaching() encryption parameters allow it}, then the secret keys
+ * get cached per password usage until this object gets {@linkplain #close() closed}.
+ * The ciphers are borrowed from an {@link EnginePool} which gets closed along with this object, because idle
+ * ciphers still hold the secret key they have been initialized with.
+ * The secret key factories are borrowed from the shared {@link EnginePool#SECRET_KEY_FACTORIES}.
  */
-public abstract class EncryptionMixin {
+public abstract class EncryptionMixin implements AutoCloseable {
 
+    private final Map<PasswordUsage, SecretKey> secretKeys = new ConcurrentHashMap<>();
+    private final EnginePool<Cipher> ciphers = EnginePool.ciphers();
     private final EncryptionParameters parameters;
 
     protected EncryptionMixin(final EncryptionParameters parameters) {
@@ -35,13 +48,122 @@ public abstract class EncryptionMixin {
     }
 
     protected final SecretKey secretKey(final PasswordUsage usage) throws Exception {
+        if (!parameters.secretKeyCaching()) {
+            return newSecretKey(usage);
+        }
+        SecretKey key = secretKeys.get(usage);
+        if (null == key) {
+            key = newSecretKey(usage);
+            final SecretKey old = secretKeys.putIfAbsent(usage, key);
+            if (null != old) {
+                destroy(key);
+                key = old;
+            }
+        }
+        return key;
+    }
+
+    private SecretKey newSecretKey(final PasswordUsage usage) throws Exception {
         try (Password password = passwordProtection().password(usage)) {
             final PBEKeySpec ks = new PBEKeySpec(password.characters());
+            final String algorithm = algorithm();
+            final SecretKeyFactory skf = SECRET_KEY_FACTORIES.borrow(algorithm);
             try {
-                return SecretKeyFactory.getInstance(algorithm()).generateSecret(ks);
+                return skf.generateSecret(ks);
             } finally {
+                SECRET_KEY_FACTORIES.release(algorithm, skf);
                 ks.clearPassword();
             }
         }
     }
+
+    /**
+     * Borrows a cipher for the algorithm from the pool.
+     * The cipher needs to get initialized before use.
+     * It should be returned using {@link #release(Cipher)}, {@link #outputStream(OutputStream, Cipher)} or
+     * {@link #inputStream(InputStream, Cipher)}.
+     */
+    protected final Cipher borrowCipher() throws Exception {
+        return ciphers.borrow(algorithm());
+    }
+
+    /** Returns the given cipher to the pool. */
+    protected final void release(Cipher cipher) {
+        ciphers.release(algorithm(), cipher);
+    }
+
+    /**
+     * Returns the pool of ciphers of this object, e.g. for borrowing a cipher for another algorithm than
+     * {@link #algorithm()}.
+     */
+    protected final EnginePool<Cipher> ciphers() {
+        return ciphers;
+    }
+
+    /** Returns a cipher output stream which returns the given cipher to the pool when it gets closed. */
+    protected final OutputStream outputStream(final OutputStream out, final Cipher cipher) {
+        return new CipherOutputStream(out, cipher) {
+
+            boolean released;
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    if (!released) {
+                        released = true;
+                        release(cipher);
+                    }
+                }
+            }
+        };
+    }
+
+    /** Returns a cipher input stream which returns the given cipher to the pool when it gets closed. */
+    protected final InputStream inputStream(final InputStream in, final Cipher cipher) {
+        return new CipherInputStream(in, cipher) {
+
+            boolean released;
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    if (!released) {
+                        released = true;
+                        release(cipher);
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Destroys any cached secret keys and closes the pool of ciphers, so that no cipher which has been initialized with
+     * these keys gets reused.
+     * This object remains usable: Any subsequent encryption or decryption generates the secret keys again, but uses a
+     * new cipher each time.
+     */
+    @Override
+    public void close() {
+        ciphers.close();
+        for (final PasswordUsage usage : PasswordUsage.values()) {
+            final SecretKey key = secretKeys.remove(usage);
+            if (null != key) {
+                destroy(key);
+            }
+        }
+    }
+
+    private static void destroy(final SecretKey key) {
+        if (!key.isDestroyed()) {
+            try {
+                key.destroy();
+            } catch (DestroyFailedException ignored) {
+                // Many providers don't support destroying their keys, so all we can do is to drop the reference.
+            }
+        }
+    }
 }
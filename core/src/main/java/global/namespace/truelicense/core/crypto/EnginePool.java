@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.core.crypto;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKeyFactory;
+import java.security.Signature;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded pool of idle cryptographic engines, keyed by their algorithm name.
+ * Borrowing an engine from the pool saves the provider lookup and object creation of the {@code getInstance} method
+ * of the engine class.
+ * A borrowed engine is used by a single thread at a time and must be (re)initialized before each use, e.g. by calling
+ * {@link Cipher#init} or {@link Signature#initVerify}.
+ * Returning an engine to the pool is optional: If it doesn't get returned, e.g. because an exception has been thrown,
+ * then it simply gets garbage collected.
+ * <p>
+ * Note that there is no pool for {@link java.security.AlgorithmParameters} because they cannot get reinitialized.
+ * <p>
+ * An idle cipher or signature engine still holds the key it has been initialized with.
+ * Therefore, there is no shared pool for them: Each owner of a key needs to create its own pool with
+ * {@link #ciphers()} or {@link #signatures()} and {@linkplain #close() close} it when destroying the key.
+ * Once closed, a pool discards any engine which gets returned to it, so that an engine which is still in use while
+ * the pool gets closed cannot get reused with the destroyed key.
+ * Only the pool of secret key factories is shared because they don't hold any key material.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @param <E> the type of the cryptographic engines.
+ */
+public final class EnginePool<E> implements AutoCloseable {
+
+    /** The maximum number of idle engines per algorithm. */
+    private static final int MAX_IDLE = 64;
+
+    /** The shared pool of secret key factories. */
+    public static final EnginePool<SecretKeyFactory> SECRET_KEY_FACTORIES =
+            new EnginePool<>(SecretKeyFactory::getInstance);
+
+    private final ConcurrentMap<String, Idle<E>> pools = new ConcurrentHashMap<>();
+    private final Factory<E> factory;
+    private volatile boolean closed;
+
+    private EnginePool(final Factory<E> factory) {
+        this.factory = factory;
+    }
+
+    /** Returns a new pool of ciphers. */
+    public static EnginePool<Cipher> ciphers() {
+        return new EnginePool<>(Cipher::getInstance);
+    }
+
+    /** Returns a new pool of signature engines. */
+    public static EnginePool<Signature> signatures() {
+        return new EnginePool<>(Signature::getInstance);
+    }
+
+    /**
+     * Returns an idle engine for the given algorithm or a new one if there is no idle engine or this pool has been
+     * closed.
+     */
+    public E borrow(final String algorithm) throws Exception {
+        final E engine = closed ? null : idle(algorithm).poll();
+        return null != engine ? engine : factory.newInstance(algorithm);
+    }
+
+    /**
+     * Returns the given engine for the given algorithm to this pool unless it has been closed.
+     * The engine must not be used by the caller anymore.
+     */
+    public void release(final String algorithm, final E engine) {
+        if (closed) {
+            return;
+        }
+        idle(algorithm).offer(engine);
+        if (closed) {
+            // Lost the race with close(), which may have missed the engine:
+            pools.clear();
+        }
+    }
+
+    /**
+     * Removes all idle engines from this pool and discards any engine which gets returned later, so that they can get
+     * garbage collected along with their keys.
+     * This pool remains usable, but only creates new engines from now on.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        pools.clear();
+    }
+
+    private Idle<E> idle(final String algorithm) {
+        final Idle<E> idle = pools.get(algorithm);
+        return null != idle ? idle : pools.computeIfAbsent(algorithm, a -> new Idle<>());
+    }
+
+    private static final class Idle<E> {
+
+        final ConcurrentLinkedDeque<E> engines = new ConcurrentLinkedDeque<>();
+        final AtomicInteger size = new AtomicInteger();
+
+        E poll() {
+            final E engine = engines.pollFirst();
+            if (null != engine) {
+                size.decrementAndGet();
+            }
+            return engine;
+        }
+
+        void offer(final E engine) {
+            if (size.incrementAndGet() <= MAX_IDLE) {
+                engines.offerFirst(engine); // LIFO keeps recently used engines hot
+            } else {
+                size.decrementAndGet();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Factory<E> {
+
+        E newInstance(String algorithm) throws Exception;
+    }
+}
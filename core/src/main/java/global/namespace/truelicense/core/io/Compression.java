@@ -0,0 +1,310 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.core.io;
+
+import global.namespace.fun.io.api.Filter;
+import global.namespace.fun.io.api.Socket;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+import java.util.zip.Adler32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * This facade provides static factory methods for compression filters which use pooled {@link Deflater}s and
+ * {@link Inflater}s.
+ * Unlike the filters provided by {@link global.namespace.fun.io.bios.BIOS#deflate(int)}, these filters don't allocate
+ * a new deflater or inflater and its native ZLIB state for each stream, which dominates the cost of compressing small
+ * payloads like license keys.
+ * <p>
+ * Upon writing, the data gets buffered until the stream gets closed.
+ * Then the compression level gets selected by a function of the size of the uncompressed data and the data gets
+ * compressed in a single pass.
+ * Upon reading, the compressed data gets inflated in a single pass when the stream gets opened.
+ * Either way, the data is a standard ZLIB stream, so it can get read with {@code BIOS.deflate()} and vice versa -
+ * except for the {@linkplain #dictionary() dictionary} filter.
+ * <p>
+ * The filters are thread-safe.
+ */
+public final class Compression {
+
+    /** The size limit for payloads which get stored rather than compressed by {@link #adaptive()}. */
+    public static final int STORE_LIMIT = 64;
+
+    /** The size limit for payloads which get compressed with the default level by {@link #adaptive()}. */
+    public static final int DEFAULT_LIMIT = 8 * 1024;
+
+    /** The header byte of data which has been compressed with version 1 of the preset dictionary. */
+    public static final int DICTIONARY_1 = 0xD1;
+
+    /** The maximum number of idle deflaters or inflaters. */
+    private static final int MAX_IDLE = 64;
+
+    private static final Pool<Deflater> deflaters = new Pool<>(Deflater::new, Deflater::end);
+
+    private static final Pool<Inflater> inflaters = new Pool<>(Inflater::new, Inflater::end);
+
+    private static final Filter adaptive = deflate(Compression::adaptiveLevel);
+
+    /**
+     * Returns a filter which compresses the data with the given level.
+     *
+     * @param level the compression level, e.g. {@link Deflater#BEST_COMPRESSION} or {@link Deflater#NO_COMPRESSION}
+     *              for the "store" mode.
+     */
+    public static Filter deflate(final int level) {
+        checkLevel(level);
+        return deflate(size -> level);
+    }
+
+    /**
+     * Returns a filter which compresses the data with the level which gets selected by the given function of the size
+     * of the uncompressed data.
+     */
+    public static Filter deflate(final IntUnaryOperator level) {
+        return new DeflateFilter(level, null);
+    }
+
+    /**
+     * Returns a filter which selects the compression level by the size of the uncompressed data:
+     * Payloads of less than {@link #STORE_LIMIT} bytes get stored because compressing them wouldn't save anything.
+     * Payloads of up to {@link #DEFAULT_LIMIT} bytes get compressed with {@link Deflater#DEFAULT_COMPRESSION}, which
+     * is close to the best compression for small payloads, but needs a lot less CPU time.
+     * Larger payloads get compressed with {@link Deflater#BEST_SPEED}.
+     */
+    public static Filter adaptive() {
+        return adaptive;
+    }
+
+    /**
+     * Returns a filter which compresses the data with {@link Deflater#DEFAULT_COMPRESSION} and a preset dictionary.
+     * The dictionary has been generated from representative V4 and V2/JSON license keys, so that even small payloads
+     * benefit from the field names, principal name prefixes and signature algorithm names which they share.
+     * It can get regenerated from sample license keys with the {@code GenerateDictionaryTask} of the TrueLicense Build
+     * Tasks, but then it needs a new header byte.
+     * The compressed data is prefixed with the header byte {@value #DICTIONARY_1} to identify version 1 of the
+     * dictionary.
+     * <p>
+     * Note that this header is not a ZLIB header, so data which has been compressed with this filter can only get read
+     * with the filters provided by this class.
+     * Conversely, all filters provided by this class accept both data with and without this header, so switching to
+     * this filter doesn't break reading existing data.
+     */
+    public static Filter dictionary() {
+        return Dictionary1.FILTER;
+    }
+
+    private static int adaptiveLevel(final int size) {
+        return size < STORE_LIMIT
+                ? Deflater.NO_COMPRESSION
+                : size <= DEFAULT_LIMIT ? Deflater.DEFAULT_COMPRESSION : Deflater.BEST_SPEED;
+    }
+
+    private static void checkLevel(final int level) {
+        if ((level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION)
+                && level != Deflater.DEFAULT_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+        }
+    }
+
+    private Compression() {
+    }
+
+    private static final class DeflateFilter implements Filter {
+
+        final IntUnaryOperator level;
+        final Dictionary dictionary;
+
+        DeflateFilter(final IntUnaryOperator level, final Dictionary dictionary) {
+            this.level = level;
+            this.dictionary = dictionary;
+        }
+
+        @Override
+        public Socket<OutputStream> output(final Socket<OutputStream> output) {
+            return output.map(out -> new ByteArrayOutputStream(1024) {
+
+                boolean closed;
+
+                @Override
+                public void close() throws IOException {
+                    if (closed) {
+                        return;
+                    }
+                    closed = true;
+                    try (OutputStream o = out) {
+                        final int l = level.applyAsInt(count);
+                        checkLevel(l);
+                        final byte[] compressed = deflate(buf, count, l, dictionary);
+                        if (null != dictionary) {
+                            o.write(dictionary.header);
+                        }
+                        o.write(compressed);
+                    }
+                }
+            });
+        }
+
+        @Override
+        public Socket<InputStream> input(final Socket<InputStream> input) {
+            return () -> {
+                final byte[] compressed;
+                try (InputStream in = input.get()) {
+                    compressed = readAll(in);
+                }
+                return new ByteArrayInputStream(0 < compressed.length && DICTIONARY_1 == (compressed[0] & 0xff)
+                        ? inflate(compressed, 1, Dictionary1.INSTANCE)
+                        : inflate(compressed, 0, null));
+            };
+        }
+    }
+
+    private static byte[] deflate(final byte[] b, final int length, final int level, final Dictionary dictionary) {
+        final Deflater deflater = deflaters.borrow();
+        try {
+            deflater.setLevel(level);
+            if (null != dictionary) {
+                deflater.setDictionary(dictionary.bytes);
+            }
+            deflater.setInput(b, 0, length);
+            deflater.finish();
+            byte[] out = new byte[length + (length >> 3) + 64];
+            int off = 0;
+            while (!deflater.finished()) {
+                if (off == out.length) {
+                    out = Arrays.copyOf(out, out.length << 1);
+                }
+                off += deflater.deflate(out, off, out.length - off);
+            }
+            deflater.reset();
+            deflaters.release(deflater);
+            return Arrays.copyOf(out, off);
+        } catch (RuntimeException e) {
+            deflater.end();
+            throw e;
+        }
+    }
+
+    private static byte[] inflate(final byte[] b, final int off, final Dictionary dictionary) throws ZipException {
+        final Inflater inflater = inflaters.borrow();
+        try {
+            inflater.setInput(b, off, b.length - off);
+            byte[] out = new byte[Math.max(b.length << 2, 256)];
+            int length = 0;
+            while (!inflater.finished()) {
+                if (length == out.length) {
+                    out = Arrays.copyOf(out, out.length << 1);
+                }
+                final int n = inflater.inflate(out, length, out.length - length);
+                if (0 == n && !inflater.finished()) {
+                    if (inflater.needsDictionary()) {
+                        if (null == dictionary || dictionary.adler != inflater.getAdler()) {
+                            throw new ZipException("Unknown preset dictionary");
+                        }
+                        inflater.setDictionary(dictionary.bytes);
+                    } else if (inflater.needsInput()) {
+                        throw new ZipException("Unexpected end of ZLIB input stream");
+                    }
+                }
+                length += n;
+            }
+            inflater.reset();
+            inflaters.release(inflater);
+            return Arrays.copyOf(out, length);
+        } catch (DataFormatException e) {
+            inflater.end();
+            final ZipException ze = new ZipException(e.getMessage());
+            ze.initCause(e);
+            throw ze;
+        } catch (ZipException | RuntimeException e) {
+            inflater.end();
+            throw e;
+        }
+    }
+
+    /** A preset dictionary and the header byte which identifies it. */
+    private static final class Dictionary {
+
+        final int header;
+        final byte[] bytes;
+        final int adler;
+
+        Dictionary(final int header, final String resource) {
+            this.header = header;
+            try (InputStream in = Compression.class.getResourceAsStream(resource)) {
+                if (null == in) {
+                    throw new IllegalStateException("Missing resource " + resource);
+                }
+                this.bytes = readAll(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            final Adler32 checksum = new Adler32();
+            checksum.update(bytes);
+            this.adler = (int) checksum.getValue();
+        }
+    }
+
+    /** Loads version 1 of the dictionary on first use. */
+    private static final class Dictionary1 {
+
+        static final Dictionary INSTANCE = new Dictionary(DICTIONARY_1, "deflate-dictionary-1.txt");
+
+        static final Filter FILTER = new DeflateFilter(size -> Deflater.DEFAULT_COMPRESSION, INSTANCE);
+    }
+
+    private static byte[] readAll(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+        final byte[] buffer = new byte[8 * 1024];
+        for (int n; 0 <= (n = in.read(buffer)); ) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * A bounded LIFO pool of idle deflaters or inflaters, like the
+     * {@link global.namespace.truelicense.core.crypto.EnginePool}.
+     * Engines which don't fit into the pool get ended to release their native ZLIB state early.
+     */
+    private static final class Pool<E> {
+
+        final ConcurrentLinkedDeque<E> engines = new ConcurrentLinkedDeque<>();
+        final AtomicInteger size = new AtomicInteger();
+        final Supplier<E> factory;
+        final Consumer<E> end;
+
+        Pool(final Supplier<E> factory, final Consumer<E> end) {
+            this.factory = factory;
+            this.end = end;
+        }
+
+        E borrow() {
+            final E engine = engines.pollFirst();
+            if (null != engine) {
+                size.decrementAndGet();
+                return engine;
+            }
+            return factory.get();
+        }
+
+        void release(final E engine) {
+            if (size.incrementAndGet() <= MAX_IDLE) {
+                engines.offerFirst(engine);
+            } else {
+                size.decrementAndGet();
+                end.accept(engine);
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+/**
+ * Provides I/O filters.
+ */
+package global.namespace.truelicense.core.io;
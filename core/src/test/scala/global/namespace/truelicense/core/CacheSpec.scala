@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.core
+
+import global.namespace.truelicense.core.CacheSpec._
+import org.scalatest.matchers.should.Matchers._
+import org.scalatest.wordspec.AnyWordSpec
+
+class CacheSpec extends AnyWordSpec {
+
+  "A cache" should {
+    "map multiple keys to their values" in {
+      val cache = new Cache[String, String](2, Long.MaxValue)
+      cache.put("a", "1", Stamp)
+      cache.put("b", "2", Stamp)
+      cache.get("a", Stamp) shouldBe "1"
+      cache.get("b", Stamp) shouldBe "2"
+      cache.get("c", Stamp) shouldBe null
+      cache.hits shouldBe 2
+      cache.misses shouldBe 1
+    }
+
+    "evict the least recently used association when exceeding its maximum size" in {
+      val cache = new Cache[String, String](2, Long.MaxValue)
+      cache.put("a", "1", Stamp)
+      cache.put("b", "2", Stamp)
+      cache.get("a", Stamp) shouldBe "1"
+      cache.put("c", "3", Stamp)
+      cache.size shouldBe 2
+      cache.get("a", Stamp) shouldBe "1"
+      cache.get("b", Stamp) shouldBe null
+      cache.get("c", Stamp) shouldBe "3"
+    }
+
+    "not evict more associations than required when written concurrently" in {
+      val cache = new Cache[Integer, String](4, Long.MaxValue)
+      val threads = (0 until 8).map { t =>
+        new Thread(() => (0 until 1000).foreach(i => cache.put(t * 1000 + i, "value", Stamp)))
+      }
+      threads.foreach(_.start())
+      threads.foreach(_.join())
+      cache.size shouldBe 4
+    }
+
+    "treat obsolete associations as absent" in {
+      val cache = new Cache[String, String](2, 0)
+      cache.put("a", "1", Stamp)
+      cache.get("a", Stamp) shouldBe null
+      cache.size shouldBe 0
+    }
+
+    "move an association to another key" in {
+      val cache = new Cache[String, String](2, Long.MaxValue)
+      cache.put("a", "1", Stamp)
+      cache.put("b", "2", Stamp)
+      cache.move("a", "b", Stamp)
+      cache.get("a", Stamp) shouldBe null
+      cache.get("b", Stamp) shouldBe "1"
+      cache.move("c", "b", Stamp)
+      cache.get("b", Stamp) shouldBe null
+    }
+
+    "treat associations with a different stamp as absent" in {
+      val cache = new Cache[String, String](2, Long.MaxValue)
+      cache.put("a", "1", Stamp)
+      cache.get("a", "other") shouldBe null
+      cache.move("a", "b", "other")
+      cache.get("b", "other") shouldBe "1"
+    }
+  }
+}
+
+private object CacheSpec {
+
+  private val Stamp = "stamp"
+}
@@ -1,14 +1,16 @@
 package global.namespace.truelicense.core
 
-import global.namespace.fun.io.api.Filter
+import global.namespace.fun.io.api.{Filter, Socket}
 import global.namespace.fun.io.bios.BIOS._
-import global.namespace.truelicense.core.Filters.compressionAndEncryption
+import global.namespace.truelicense.core.Filters.{compressed, compressionAndEncryption}
 import global.namespace.truelicense.core.FiltersSpec._
 import org.scalatest.matchers.should.Matchers._
 import org.scalatest.prop.TableDrivenPropertyChecks._
 import org.scalatest.wordspec.AnyWordSpec
 
+import java.io.{ByteArrayInputStream, InputStream, OutputStream}
 import java.security.SecureRandom
+import java.util.concurrent.atomic.AtomicInteger
 import javax.crypto.Cipher.{DECRYPT_MODE, ENCRYPT_MODE}
 import javax.crypto.spec.{PBEKeySpec, PBEParameterSpec}
 import javax.crypto.{Cipher, SecretKeyFactory}
@@ -34,6 +36,53 @@ class FiltersSpec extends AnyWordSpec {
         new String((store map right).content) shouldBe Message
       }
     }
+
+    "sniff GZIP and ZLIB headers" in {
+      forAll(Tests) { (compression, _) =>
+        val store = memory
+        store map compression content Message.getBytes
+        compressed(new ByteArrayInputStream(store.content)) shouldBe true
+      }
+      compressed(new ByteArrayInputStream(Message.getBytes)) shouldBe false
+      compressed(new ByteArrayInputStream(Array[Byte](0x1f))) shouldBe false
+    }
+
+    "first decompress data which starts with a GZIP or ZLIB header" in {
+      forAll(Tests) { (compression, encryption) =>
+        val store = memory
+        store map compressionAndEncryption(encryption, compression) content Message.getBytes
+        val counting = new CountingFilter(encryption)
+        new String((store map compressionAndEncryption(compression, counting)).content) shouldBe Message
+        counting.inputs.get shouldBe 1
+      }
+    }
+
+    "decrypt encrypted data which happens to start like a ZLIB header without a second attempt to decrypt it" in {
+      val candidates = Iterator.from(0).map(i => s"$i $Message").map { message =>
+        val store = memory
+        store map compressionAndEncryption(deflate, FixedPBE) content message.getBytes
+        message -> store
+      }.filter { case (_, store) => compressed(new ByteArrayInputStream(store.content)) }
+      candidates.take(5).foreach { case (message, store) =>
+        val counting = new CountingFilter(FixedPBE)
+        new String((store map compressionAndEncryption(deflate, counting)).content) shouldBe message
+        counting.inputs.get shouldBe 1
+      }
+    }
+
+    "not try the other order if the data cannot get decrypted and decompressed" in {
+      forAll(Tests) { (compression, encryption) =>
+        val store = memory
+        store content Array[Byte](0, 1, 2, 3, 4, 5, 6)
+        val counting = new CountingFilter(compression)
+        an[Exception] should be thrownBy (store map compressionAndEncryption(counting, encryption)).content
+        counting.inputs.get shouldBe 1
+      }
+    }
+
+    "not count ZLIB headers which require a preset dictionary" in {
+      compressed(new ByteArrayInputStream(Array[Byte](0x78, 0xbb.toByte))) shouldBe false
+    }
   }
 }
 
@@ -53,15 +102,33 @@ private object FiltersSpec {
     new PBEParameterSpec(salt, 2017)
   }
 
-  private[this] val PBE: Filter = {
+  private[this] val PBE: Filter = pbe(PbeParameterSpec)
+
+  /** A PBE filter with a constant salt, so that the encrypted data for a given message is always the same. */
+  private val FixedPBE: Filter = pbe(new PBEParameterSpec(new Array[Byte](8), 2017))
+
+  private[this] def pbe(parameterSpec: PBEParameterSpec): Filter = {
     cipher { outputMode: java.lang.Boolean =>
       val secretKey = Skf generateSecret PbeKeySpec
       val cipher = Cipher getInstance Algorithm
-      cipher.init(if (outputMode) ENCRYPT_MODE else DECRYPT_MODE, secretKey, PbeParameterSpec)
+      cipher.init(if (outputMode) ENCRYPT_MODE else DECRYPT_MODE, secretKey, parameterSpec)
       cipher
     }
   }
 
+  /** Counts the attempts to read data through the given filter. */
+  private final class CountingFilter(filter: Filter) extends Filter {
+
+    val inputs = new AtomicInteger
+
+    override def output(output: Socket[OutputStream]): Socket[OutputStream] = filter output output
+
+    override def input(input: Socket[InputStream]): Socket[InputStream] = {
+      inputs.incrementAndGet()
+      filter input input
+    }
+  }
+
   private val Tests = Table(
     ("compression", "encryption"),
     (deflate, PBE),
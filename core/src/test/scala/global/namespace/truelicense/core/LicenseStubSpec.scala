@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.core
+
+import global.namespace.truelicense.core.LicenseStubSpec._
+import org.scalatest.matchers.should.Matchers._
+import org.scalatest.wordspec.AnyWordSpec
+
+import java.util
+import java.util.Date
+import javax.security.auth.x500.X500Principal
+
+class LicenseStubSpec extends AnyWordSpec {
+
+  "A license" should {
+    "copy its properties and a deep copy of its extra data" in {
+      val extra = new util.LinkedHashMap[String, AnyRef]
+      extra.put("list", new util.ArrayList[AnyRef](util.Arrays.asList("a", Integer.valueOf(1), null)))
+      extra.put("map", new util.HashMap[String, AnyRef](util.Collections.singletonMap("b", java.lang.Boolean.TRUE)))
+      val license = new TestLicense
+      license setConsumerAmount 2
+      license setConsumerType "User"
+      license setExtra extra
+      license setHolder new X500Principal("CN=Holder")
+      license setInfo "info"
+      license setIssued new Date
+      license setIssuer new X500Principal("CN=Issuer")
+      license setNotAfter new Date
+      license setNotBefore new Date
+      license setSubject "subject"
+
+      val copy = new TestLicense
+      license copyTo copy
+      copy shouldBe license
+      copy.getExtra should not be theSameInstanceAs(extra)
+      copy.getExtra.asInstanceOf[util.Map[String, AnyRef]].get("list") should not be theSameInstanceAs(extra.get("list"))
+    }
+
+    "refuse to copy extra data of an unsupported type" in {
+      val license = new TestLicense
+      license setExtra new Date
+      intercept[CloneNotSupportedException](license copyTo new TestLicense)
+    }
+  }
+}
+
+private object LicenseStubSpec {
+
+  private class TestLicense extends AbstractLicense
+}
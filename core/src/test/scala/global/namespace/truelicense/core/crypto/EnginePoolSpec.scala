@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.core.crypto
+
+import global.namespace.truelicense.core.crypto.EnginePoolSpec._
+import org.scalatest.matchers.should.Matchers._
+import org.scalatest.wordspec.AnyWordSpec
+
+class EnginePoolSpec extends AnyWordSpec {
+
+  "An engine pool" should {
+    "reuse a released engine" in {
+      val pool = EnginePool.signatures
+      val engine = pool borrow Algorithm
+      pool.release(Algorithm, engine)
+      pool borrow Algorithm should be theSameInstanceAs engine
+    }
+
+    "discard its idle engines when getting closed" in {
+      val pool = EnginePool.signatures
+      val engine = pool borrow Algorithm
+      pool.release(Algorithm, engine)
+      pool.close()
+      pool borrow Algorithm should not be theSameInstanceAs(engine)
+    }
+
+    "discard an engine which gets released after closing the pool" in {
+      val pool = EnginePool.signatures
+      val engine = pool borrow Algorithm
+      pool.close()
+      pool.release(Algorithm, engine)
+      pool borrow Algorithm should not be theSameInstanceAs(engine)
+    }
+  }
+}
+
+private object EnginePoolSpec {
+
+  private val Algorithm = "SHA256withRSA"
+}
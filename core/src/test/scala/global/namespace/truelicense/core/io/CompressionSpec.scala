@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.core.io
+
+import global.namespace.fun.io.bios.BIOS._
+import global.namespace.truelicense.core.io.CompressionSpec._
+import org.scalatest.matchers.should.Matchers._
+import org.scalatest.prop.TableDrivenPropertyChecks._
+import org.scalatest.wordspec.AnyWordSpec
+
+import java.util.zip.{Deflater, ZipException}
+
+class CompressionSpec extends AnyWordSpec {
+
+  "A compression filter" should {
+    "round trip some data" in {
+      forAll(Filters) { filter =>
+        forAll(Sizes) { size =>
+          val data = payload(size)
+          val store = memory
+          store map filter content data
+          (store map filter).content shouldBe data
+        }
+      }
+    }
+
+    "be compatible with BIOS.deflate()" in {
+      forAll(ZlibFilters) { filter =>
+        forAll(Sizes) { size =>
+          val data = payload(size)
+          val store = memory
+          store map filter content data
+          (store map deflate).content shouldBe data
+          store map deflate content data
+          (store map filter).content shouldBe data
+        }
+      }
+    }
+
+    "read data which has been compressed with or without the preset dictionary" in {
+      forAll(Filters) { filter =>
+        forAll(Filters) { other =>
+          val data = payload(1000)
+          val store = memory
+          store map other content data
+          (store map filter).content shouldBe data
+        }
+      }
+    }
+
+    "reject data which has been compressed with an unknown preset dictionary" in {
+      val deflater = new Deflater
+      deflater setDictionary "Unknown dictionary".getBytes
+      deflater setInput payload(1000)
+      deflater.finish()
+      val buffer = new Array[Byte](2000)
+      val length = deflater deflate buffer
+      deflater.end()
+      val store = memory
+      store content (Compression.DICTIONARY_1.toByte +: buffer.take(length))
+      intercept[ZipException]((store map Compression.dictionary).content)
+    }
+
+    "reject truncated data" in {
+      forAll(Filters) { filter =>
+        val store = memory
+        store map filter content payload(1000)
+        val content = store.content
+        store content content.take(content.length - 3)
+        intercept[ZipException]((store map filter).content)
+      }
+    }
+  }
+}
+
+private object CompressionSpec {
+
+  private[this] val Zlib = Seq(
+    Compression.adaptive,
+    Compression deflate Deflater.NO_COMPRESSION,
+    Compression deflate Deflater.BEST_SPEED,
+    Compression deflate Deflater.BEST_COMPRESSION
+  )
+
+  private val ZlibFilters = Table("filter", Zlib: _*)
+
+  private val Filters = Table("filter", Zlib :+ Compression.dictionary: _*)
+
+  private val Sizes = Table("size", 0, 1, Compression.STORE_LIMIT, 1000, Compression.DEFAULT_LIMIT + 1, 100000)
+
+  private def payload(size: Int): Array[Byte] =
+    Array.tabulate(size)(i => ("This is some license key payload #" + i % 13).charAt(i % 29).toByte)
+}
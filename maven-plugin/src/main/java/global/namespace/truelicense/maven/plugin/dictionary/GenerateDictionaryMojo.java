@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.maven.plugin.dictionary;
+
+import global.namespace.truelicense.build.tasks.commons.Task;
+import global.namespace.truelicense.build.tasks.dictionary.GenerateDictionaryTask;
+import global.namespace.truelicense.maven.plugin.commons.BasicMojo;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import java.io.File;
+import java.nio.file.Path;
+
+import static global.namespace.neuron.di.java.Incubator.wire;
+
+/**
+ * A goal for generating a preset dictionary for the DEFLATE compression of license keys from a directory of sample
+ * payloads.
+ * This goal is not bound to a lifecycle phase because the dictionary only needs to get regenerated when the license
+ * key formats change.
+ *
+ * @see GenerateDictionaryTask
+ */
+@SuppressWarnings("unused")
+@Mojo(name = "generate-dictionary", requiresProject = false)
+public final class GenerateDictionaryMojo extends BasicMojo {
+
+    /**
+     * The directory which contains the sample payloads, that is the encoded license keys before compression and
+     * encryption.
+     */
+    @Parameter(property = "truelicense.dictionary.sampleDirectory", required = true)
+    private File sampleDirectory;
+
+    /**
+     * This dependency provider method is used to wire {@link GenerateDictionaryTask}.
+     *
+     * @see #task()
+     */
+    Path sampleDirectory() {
+        return sampleDirectory.toPath();
+    }
+
+    /** The dictionary file to write. */
+    @Parameter(property = "truelicense.dictionary.dictionaryFile", required = true)
+    private File dictionaryFile;
+
+    /**
+     * This dependency provider method is used to wire {@link GenerateDictionaryTask}.
+     *
+     * @see #task()
+     */
+    Path dictionaryFile() {
+        return dictionaryFile.toPath();
+    }
+
+    /** The maximum size of the dictionary in bytes. */
+    @Parameter(property = "truelicense.dictionary.maximumSize",
+            defaultValue = "" + GenerateDictionaryTask.MAXIMUM_SIZE)
+    private int maximumSize;
+
+    /** The minimum share of samples which need to contain a segment for it to get considered for the dictionary. */
+    @Parameter(property = "truelicense.dictionary.minimumShare",
+            defaultValue = "" + GenerateDictionaryTask.MINIMUM_SHARE)
+    private double minimumShare;
+
+    @Override
+    protected Task task() {
+        return wire(GenerateDictionaryTask.class).using(this);
+    }
+}
@@ -0,0 +1,8 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+/**
+ * Provides a goal for generating a preset dictionary for the DEFLATE compression of license keys.
+ */
+package global.namespace.truelicense.maven.plugin.dictionary;
@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.spi.codec;
+
+import global.namespace.fun.io.api.Socket;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * A buffer for an encoded artifact which provides access to its content without copying it.
+ * Repository controllers use this class to encode an artifact once and then sign it, embed it into the repository
+ * model and decode it again, all from the same byte array.
+ * This class is not thread-safe.
+ */
+public final class ArtifactBuffer extends ByteArrayOutputStream {
+
+    /** Constructs an empty artifact buffer. */
+    public ArtifactBuffer() {
+        super(1024);
+    }
+
+    /** Constructs an artifact buffer which wraps the given encoded artifact without copying it. */
+    public ArtifactBuffer(final byte[] data) {
+        super(0);
+        buf = data;
+        count = data.length;
+    }
+
+    /** Returns a socket for writing to this buffer. */
+    public Socket<OutputStream> output() {
+        return () -> this;
+    }
+
+    /** Returns a socket for reading the content of this buffer without copying it. */
+    public Socket<InputStream> input() {
+        return () -> new ByteArrayInputStream(buf, 0, count);
+    }
+
+    /**
+     * Returns a byte buffer view of the content of this buffer, e.g. for
+     * {@linkplain java.security.Signature#update(ByteBuffer) updating a signature engine}.
+     */
+    public ByteBuffer byteBuffer() {
+        return ByteBuffer.wrap(buf, 0, count);
+    }
+
+    /** Decodes the content of this buffer into a string using the given charset. */
+    public String toString(final Charset charset) {
+        return new String(buf, 0, count, charset);
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.tests.core
+
+import global.namespace.fun.io.api.{Decoder, Store}
+import global.namespace.fun.io.bios.BIOS.memory
+import global.namespace.truelicense.api._
+import global.namespace.truelicense.api.auth.{Authentication, RepositoryController}
+import global.namespace.truelicense.tests.core.CachingITLike._
+import org.scalatest.matchers.should.Matchers._
+import org.scalatest.wordspec.AnyWordSpecLike
+
+import java.time.{Clock, Instant, ZoneId, ZoneOffset}
+import java.util.Date
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.atomic.AtomicInteger
+
+trait CachingITLike extends AnyWordSpecLike {
+  this: TestContext =>
+
+  "A caching consumer license manager" should {
+    "detect a change to the license key in its store if change detection is enabled" in {
+      val store = memory
+      val manager = consumerManager(newManagementContext(_.changeDetection(true)), store)
+      store content licenseKey("first")
+      manager.load().getInfo shouldBe "first"
+      store content licenseKey("second")
+      manager.load().getInfo shouldBe "second"
+    }
+
+    "not detect a change to the license key in its store if change detection is disabled" in {
+      val store = memory
+      val manager = consumerManager(newManagementContext(_.changeDetection(false)), store)
+      store content licenseKey("first")
+      manager.load().getInfo shouldBe "first"
+      store content licenseKey("second")
+      manager.load().getInfo shouldBe "first"
+    }
+
+    "expire a cached license at the end of its validity period" in {
+      val clock = new ManualClock(System.currentTimeMillis)
+      val store = memory
+      val manager = consumerManager(newManagementContext(_.clock(clock).cachePeriodMillis(Long.MaxValue)), store)
+      val bean = licenseBean
+      bean setNotAfter new Date(clock.now + 60 * 60 * 1000)
+      store content licenseKey(bean)
+      manager.verify()
+      manager.tryVerify shouldBe LicenseStatus.VALID
+      val misses = manager.cacheMisses
+
+      clock.now = bean.getNotAfter.getTime
+      manager.tryVerify shouldBe LicenseStatus.VALID
+
+      clock.now += 1
+      manager.tryVerify shouldBe LicenseStatus.EXPIRED
+      intercept[LicenseValidationException](manager.verify())
+      manager.cacheMisses shouldBe misses
+    }
+
+    "install and verify license keys concurrently" in {
+      val store = memory
+      val manager = consumerManager(newManagementContext(_.changeDetection(true)), store)
+      val infos = Set("first", "second")
+      val sources = infos.toSeq.map { info =>
+        val source = memory
+        source content licenseKey(info)
+        source
+      }
+      manager install sources.head
+      val failures = new ConcurrentLinkedQueue[Throwable]
+      val threads = (0 until 8).map { t =>
+        new Thread(() => {
+          try {
+            (0 until 50).foreach { i =>
+              if (0 == t % 2) {
+                manager install sources(i % sources.size)
+              } else {
+                manager.verify()
+                infos should contain(manager.load().getInfo)
+              }
+            }
+          } catch {
+            case e: Throwable => failures add e
+          }
+        })
+      }
+      threads.foreach(_.start())
+      threads.foreach(_.join())
+      failures shouldBe empty
+      manager.tryVerify shouldBe LicenseStatus.VALID
+    }
+
+    "not cache a failure to authenticate the license key in its store by default" in {
+      val store = memory
+      val (manager, authentication) = countingConsumerManager(newManagementContext(identity), store)
+      store content tamperedLicenseKey
+      manager.tryVerify shouldBe LicenseStatus.TAMPERED
+      manager.tryVerify shouldBe LicenseStatus.TAMPERED
+      authentication.verifications shouldBe 2
+    }
+
+    "cache a failure to authenticate the license key in its store" in {
+      val store = memory
+      val (manager, authentication) =
+        countingConsumerManager(newManagementContext(_.failureCachePeriodMillis(Long.MaxValue)), store)
+      store content tamperedLicenseKey
+      manager.tryVerify shouldBe LicenseStatus.TAMPERED
+      manager.tryVerify shouldBe LicenseStatus.TAMPERED
+      val e1 = intercept[LicenseManagementException](manager.verify())
+      val e2 = intercept[LicenseManagementException](manager.verify())
+      authentication.verifications shouldBe 1
+      e1.getCause should not be theSameInstanceAs(e2.getCause)
+    }
+
+    "expire a cached failure to authenticate the license key in its store" in {
+      val store = memory
+      val (manager, authentication) =
+        countingConsumerManager(newManagementContext(_.failureCachePeriodMillis(1)), store)
+      store content tamperedLicenseKey
+      manager.tryVerify shouldBe LicenseStatus.TAMPERED
+      Thread sleep 10
+      manager.tryVerify shouldBe LicenseStatus.TAMPERED
+      authentication.verifications shouldBe 2
+    }
+
+    "discard a cached failure to authenticate the license key in its store when the store changes" in {
+      val store = memory
+      val (manager, authentication) = countingConsumerManager(
+        newManagementContext(_.changeDetection(true).failureCachePeriodMillis(Long.MaxValue)), store)
+      store content tamperedLicenseKey
+      manager.tryVerify shouldBe LicenseStatus.TAMPERED
+      manager.tryVerify shouldBe LicenseStatus.TAMPERED
+      authentication.verifications shouldBe 1
+      store content licenseKey("fixed")
+      manager.tryVerify shouldBe LicenseStatus.VALID
+      manager.load().getInfo shouldBe "fixed"
+      authentication.verifications shouldBe 2
+    }
+  }
+
+  /**
+   * Returns a consumer license manager for the given context and store and the authentication which it uses to verify
+   * license keys.
+   */
+  private def countingConsumerManager(context: LicenseManagementContext, store: Store)
+  : (ConsumerLicenseManager, CountingAuthentication) = {
+    val parameters = consumerManager(context, store).parameters
+    val authentication = new CountingAuthentication(parameters.authentication)
+    val manager = context.consumer
+      .authentication(authentication)
+      .encryption(parameters.encryption)
+      .storeIn(store)
+      .build
+    manager -> authentication
+  }
+
+  /** Returns a license key which has been signed with a different private key. */
+  private def tamperedLicenseKey: Array[Byte] = {
+    val store = memory
+    chainedVendorManager generateKeyFrom licenseBean saveTo store
+    store.content
+  }
+
+  private def licenseKey(info: String): Array[Byte] = {
+    val bean = licenseBean
+    bean setInfo info
+    licenseKey(bean)
+  }
+
+  private def licenseKey(bean: License): Array[Byte] = {
+    val store = memory
+    vendorManager generateKeyFrom bean saveTo store
+    store.content
+  }
+}
+
+private object CachingITLike {
+
+  private final class CountingAuthentication(authentication: Authentication) extends Authentication {
+
+    private val counter = new AtomicInteger
+
+    def verifications: Int = counter.get
+
+    override def sign(controller: RepositoryController, artifact: AnyRef): Decoder =
+      authentication.sign(controller, artifact)
+
+    override def verify(controller: RepositoryController): Decoder = {
+      counter.incrementAndGet()
+      authentication verify controller
+    }
+  }
+
+  private final class ManualClock(@volatile var now: Long) extends Clock {
+
+    override def getZone: ZoneId = ZoneOffset.UTC
+
+    override def withZone(zone: ZoneId): Clock = this
+
+    override def instant: Instant = Instant ofEpochMilli now
+
+    override def millis: Long = now
+  }
+}
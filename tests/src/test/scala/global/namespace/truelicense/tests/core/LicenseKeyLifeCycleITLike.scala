@@ -5,7 +5,8 @@
 package global.namespace.truelicense.tests.core
 
 import global.namespace.fun.io.bios.BIOS.memory
-import global.namespace.truelicense.api.{ConsumerLicenseManager, License, LicenseManagementException}
+import global.namespace.truelicense.api._
+import global.namespace.truelicense.api.passwd.{Password, PasswordProtection}
 import global.namespace.truelicense.tests.core.LicenseKeyLifeCycleITLike.logger
 import org.scalatest.matchers.should.Matchers._
 import org.scalatest.wordspec.AnyWordSpecLike
@@ -13,6 +14,7 @@ import org.slf4j.LoggerFactory
 
 import java.util.Calendar.{DATE, getInstance}
 import java.util.Date
+import java.util.concurrent.{Callable, Executors}
 
 trait LicenseKeyLifeCycleITLike extends AnyWordSpecLike {
   this: TestContext =>
@@ -35,10 +37,17 @@ trait LicenseKeyLifeCycleITLike extends AnyWordSpecLike {
         consumerManager install tempStore
         consumerManager install tempStore // reinstall
         consumerManager.verify()
+        val misses = consumerManager.cacheMisses
+        consumerManager.tryVerify shouldBe LicenseStatus.VALID
+        consumerManager.cacheHits should be > 0L
+        consumerManager.cacheMisses shouldBe misses
+        consumerManager.tryLoad.license.get shouldBe generated
 
         val viewed = consumerManager.load()
         viewed shouldBe generated
         viewed should not be theSameInstanceAs(generated)
+        viewed setInfo "modified"
+        consumerManager.load() shouldBe generated
         consumerManager.uninstall()
         assertUninstalled(consumerManager)
       }
@@ -49,6 +58,7 @@ trait LicenseKeyLifeCycleITLike extends AnyWordSpecLike {
         consumerStore.exists shouldBe false
         ftpStore.exists shouldBe false
         ftpManager.verify() // generate
+        ftpManager.tryVerify shouldBe LicenseStatus.VALID
 
         val generated = ftpManager.load()
         consumerStore.exists shouldBe false
@@ -69,6 +79,71 @@ trait LicenseKeyLifeCycleITLike extends AnyWordSpecLike {
       }
     }
 
+    "not generate a free trial period license key if generating license keys is not authorized" in {
+      val context = newManagementContext(_.authorization(new LicenseManagementAuthorization {
+
+        override def clearGenerate(manager: VendorLicenseManager): Unit = throw new LicenseManagementException
+      }))
+      val store = memory
+      val manager = ftpManager(context, consumerManager(context, memory), store)
+      manager.tryVerify shouldBe LicenseStatus.MISSING
+      intercept[LicenseManagementException](manager.verify())
+      manager.tryLoad.status shouldBe LicenseStatus.MISSING
+      store.exists shouldBe false
+    }
+
+    "cover corrupted license keys" in new State {
+      {
+        val key = licenseKey
+        key(key.length / 2) = (key(key.length / 2) ^ 0xff).toByte
+        consumerStore content key
+        consumerManager.tryVerify shouldBe LicenseStatus.TAMPERED
+        consumerManager.tryLoad.status shouldBe LicenseStatus.TAMPERED
+        intercept[LicenseManagementException](consumerManager.verify())
+        intercept[LicenseManagementException](consumerManager.load())
+
+        consumerStore content licenseKey.take(licenseKey.length / 2)
+        consumerManager.tryVerify shouldBe LicenseStatus.TAMPERED
+        consumerManager.tryLoad.status shouldBe LicenseStatus.TAMPERED
+      }
+    }
+
+    "not report a license key as tampered if the keystore cannot get loaded" in new State {
+      {
+        val wrongPassword: PasswordProtection = _ => new Password {
+
+          override def characters: Array[Char] = "wrong1234".toCharArray
+
+          override def close(): Unit = ()
+        }
+        consumerStore content licenseKey
+        val manager = consumerManager(managementContext, consumerStore, wrongPassword)
+        intercept[LicenseManagementException](manager.tryVerify)
+        intercept[LicenseManagementException](manager.tryLoad)
+      }
+    }
+
+    "keep generating license keys while the management context gets closed" in {
+      val context = newManagementContext(identity)
+      val manager = newVendorManager(context)
+      manager generateKeyFrom licenseBean saveTo memory
+      val executor = Executors newFixedThreadPool 4
+      try {
+        val generators = (1 to 4).map { _ =>
+          executor submit new Callable[Unit] {
+
+            override def call(): Unit = {
+              (1 to 10).foreach(_ => assertLicenseBean((manager generateKeyFrom licenseBean saveTo memory).license))
+            }
+          }
+        }
+        context.close()
+        generators.foreach(_.get)
+      } finally {
+        executor.shutdown()
+      }
+    }
+
     "cover chained license keys" in new State {
       {
         val tempStore = memory
@@ -154,6 +229,8 @@ trait LicenseKeyLifeCycleITLike extends AnyWordSpecLike {
     intercept[LicenseManagementException](cm.load())
     intercept[LicenseManagementException](cm.verify())
     intercept[LicenseManagementException](cm.uninstall())
+    cm.tryVerify shouldBe LicenseStatus.MISSING
+    cm.tryLoad.status shouldBe LicenseStatus.MISSING
   }
 }
 
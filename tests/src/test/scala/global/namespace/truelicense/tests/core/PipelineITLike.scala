@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.tests.core
+
+import global.namespace.fun.io.api.{Sink, Socket}
+import global.namespace.fun.io.bios.BIOS.memory
+import global.namespace.truelicense.api._
+import org.scalatest.matchers.should.Matchers._
+import org.scalatest.wordspec.AnyWordSpecLike
+
+import java.io.OutputStream
+import java.util.concurrent.ExecutionException
+
+trait PipelineITLike extends AnyWordSpecLike {
+  this: TestContext =>
+
+  "A license key pipeline" when {
+    "provided by a vendor license manager" should {
+      behave like pipeline(vendorManager)
+    }
+
+    "provided by the default implementation" should {
+      behave like pipeline(new VendorLicenseManager {
+
+        override def parameters: LicenseManagerParameters = vendorManager.parameters
+
+        override def generateKeyFrom(bean: License): LicenseKeyGenerator = vendorManager generateKeyFrom bean
+      })
+    }
+  }
+
+  private def pipeline(manager: => VendorLicenseManager): Unit = {
+    "generate license keys which decode and verify like those of the license key generator" in new State {
+      val pipeline = manager.pipeline(2, 4)
+      try {
+        val store = memory
+        val license = pipeline.submit(licenseBean, store).toCompletableFuture.get
+        assertLicenseBean(license)
+        consumerManager install store
+        consumerManager.verify()
+        consumerManager.load() shouldBe license
+      } finally {
+        pipeline.close()
+      }
+    }
+
+    "complete a job exceptionally if its license bean is invalid without blocking later jobs" in {
+      val pipeline = manager.pipeline(1, 1)
+      try {
+        val bean = licenseBean
+        bean setSubject "invalid"
+        val failed = pipeline.submit(bean, memory).toCompletableFuture
+        val succeeded = pipeline.submit(licenseBean, memory).toCompletableFuture
+        intercept[ExecutionException](failed.get).getCause shouldBe a[LicenseValidationException]
+        assertLicenseBean(succeeded.get)
+      } finally {
+        pipeline.close()
+      }
+    }
+
+    "complete a job exceptionally if saving its license key throws an error without blocking later jobs" in {
+      val pipeline = manager.pipeline(1, 1)
+      try {
+        val failed = pipeline.submit(licenseBean, new Sink {
+
+          override def output(): Socket[OutputStream] = throw new AssertionError("This sink is broken.")
+        }).toCompletableFuture
+        val succeeded = pipeline.submit(licenseBean, memory).toCompletableFuture
+        intercept[ExecutionException](failed.get).getCause shouldBe a[LicenseManagementException]
+        assertLicenseBean(succeeded.get)
+      } finally {
+        pipeline.close()
+      }
+    }
+
+    "drain all submitted jobs when closing" in {
+      val pipeline = manager.pipeline(1, 2)
+      val futures = (0 until 8).map(_ => pipeline.submit(licenseBean, memory).toCompletableFuture)
+      pipeline.close()
+      futures.foreach(_.isDone shouldBe true)
+      futures.foreach(_.isCompletedExceptionally shouldBe false)
+      pipeline.metrics.get(pipeline.metrics.size - 1).count shouldBe 8
+      intercept[IllegalStateException](pipeline.submit(licenseBean, memory))
+    }
+  }
+}
@@ -109,6 +109,59 @@ trait TestContext {
     final def licenseKey: Array[Byte] = licenseStore.content
   }
 
+  /** Returns a new vendor license manager which uses the given license management context. */
+  final def newVendorManager(context: LicenseManagementContext): VendorLicenseManager = {
+    context.vendor
+      .encryption
+      .protection(test1234)
+      .up
+      .authentication
+      .alias("mykey")
+      .loadFromResource(prefix + "private" + postfix)
+      .storeProtection(test1234)
+      .up
+      .build
+  }
+
+  /**
+   * Returns a consumer license manager which uses the given license management context and stores its license key in
+   * the given store.
+   * The keystore gets loaded with the given store protection.
+   */
+  final def consumerManager(context: LicenseManagementContext,
+                            store: Store,
+                            storeProtection: PasswordProtection = test1234): ConsumerLicenseManager = {
+    context.consumer
+      .encryption
+      .protection(test1234)
+      .up
+      .authentication
+      .alias("mykey")
+      .loadFromResource(prefix + "public" + postfix)
+      .storeProtection(storeProtection)
+      .up
+      .storeIn(store)
+      .build
+  }
+
+  /**
+   * Returns a consumer license manager for a free trial period of one day which uses the given license management
+   * context and parent consumer license manager and stores its license key in the given store.
+   */
+  final def ftpManager(context: LicenseManagementContext, parent: ConsumerLicenseManager, store: Store)
+  : ConsumerLicenseManager = {
+    context.consumer
+      .ftpDays(1)
+      .authentication
+      .alias("mykey")
+      .loadFromResource(prefix + "ftp" + postfix)
+      .storeProtection(test1234)
+      .up
+      .parent(parent)
+      .storeIn(store)
+      .build
+  }
+
   final def assertLicenseBean(license: License): Unit = {
     import license._
     getConsumerAmount shouldBe 1
@@ -144,6 +197,15 @@ trait TestContext {
       .validation(logger.debug("Validating license bean: {}", _))
       .build
   }
+
+  /**
+   * Returns a new license management context with the same subject as the [[managementContext]], but without a custom
+   * validation and with the given configuration.
+   */
+  final def newManagementContext(configure: LicenseManagementContextBuilder => LicenseManagementContextBuilder)
+  : LicenseManagementContext = {
+    configure(managementContextBuilder.subject("subject")).build
+  }
 }
 
 private object TestContext {
@@ -0,0 +1,10 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.tests.v2.json
+
+import global.namespace.truelicense.tests.core.CachingITLike
+import org.scalatest.wordspec.AnyWordSpec
+
+class V2JsonCachingIT extends AnyWordSpec with CachingITLike with V2JsonTestContext
@@ -0,0 +1,10 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.tests.v4
+
+import global.namespace.truelicense.tests.core.PipelineITLike
+import org.scalatest.wordspec.AnyWordSpec
+
+class V4PipelineIT extends AnyWordSpec with PipelineITLike with V4TestContext
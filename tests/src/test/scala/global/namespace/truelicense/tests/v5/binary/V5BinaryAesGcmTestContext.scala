@@ -0,0 +1,15 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.tests.v5.binary
+
+import global.namespace.truelicense.api.LicenseManagementContextBuilder
+import global.namespace.truelicense.v5.binary.{AesGcmEncryptionFactory, V5Binary}
+
+trait V5BinaryAesGcmTestContext extends V5BinaryTestContext {
+
+  override final def managementContextBuilder: LicenseManagementContextBuilder = {
+    V5Binary.builder.encryptionFactory(new AesGcmEncryptionFactory)
+  }
+}
@@ -0,0 +1,10 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.tests.v5.binary
+
+import global.namespace.truelicense.tests.core.RepositoryITLike
+import org.scalatest.wordspec.AnyWordSpec
+
+class V5BinaryRepositoryIT extends AnyWordSpec with RepositoryITLike with V5BinaryTestContext
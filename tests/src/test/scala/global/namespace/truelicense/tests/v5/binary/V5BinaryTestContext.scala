@@ -0,0 +1,20 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.tests.v5.binary
+
+import global.namespace.truelicense.api.LicenseManagementContextBuilder
+import global.namespace.truelicense.tests.core.{ExtraMapTestContext, TestContext}
+import global.namespace.truelicense.tests.v4.V4TestContext
+import global.namespace.truelicense.v5.binary.V5Binary
+
+trait V5BinaryTestContext extends TestContext with ExtraMapTestContext {
+
+  def managementContextBuilder: LicenseManagementContextBuilder = V5Binary.builder
+
+  // The V5/Binary format uses the same keystore type as the V4 format, so the keystores get shared:
+  protected final lazy val prefix: String = classOf[V4TestContext].getPackage.getName.replace('.', '/') + '/'
+
+  protected final lazy val postfix: String = ".pkcs12"
+}
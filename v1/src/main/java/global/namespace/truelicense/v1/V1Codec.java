@@ -9,11 +9,14 @@ import global.namespace.fun.io.api.Encoder;
 import global.namespace.fun.io.api.Socket;
 import global.namespace.truelicense.api.codec.Codec;
 import global.namespace.truelicense.obfuscate.Obfuscate;
+import global.namespace.truelicense.spi.codec.ArtifactBuffer;
 
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.lang.reflect.Type;
 
 import static global.namespace.fun.io.bios.BIOS.xml;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * A codec for use with V1 format license keys.
@@ -27,9 +30,11 @@ final class V1Codec implements Codec {
     private static final String EIGHT_BIT = "8bit";
 
     private final global.namespace.fun.io.api.Codec codec;
+    private final boolean streamlined;
 
-    V1Codec(V1CodecFactory factory) {
+    V1Codec(final V1CodecFactory factory) {
         codec = xml(factory::xmlEncoder, factory::xmlDecoder);
+        streamlined = factory.streamlined();
     }
 
     /**
@@ -54,9 +59,57 @@ final class V1Codec implements Codec {
     @Override
     public String contentTransferEncoding() { return EIGHT_BIT; }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The implementation in the class {@link V1Codec} writes license beans and repository models using the
+     * {@link V1XmlWriter} if possible and falls back to the XML encoder otherwise.
+     * Either way, the output is the same.
+     */
     @Override
-    public Encoder encoder(Socket<OutputStream> output) { return codec.encoder(output); }
+    public Encoder encoder(final Socket<OutputStream> output) {
+        final Encoder encoder = codec.encoder(output);
+        if (!streamlined) {
+            return encoder;
+        }
+        return obj -> {
+            final String xml = V1XmlWriter.write(obj);
+            if (null != xml) {
+                try (OutputStream out = output.get()) {
+                    out.write(xml.getBytes(UTF_8));
+                }
+            } else {
+                encoder.encode(obj);
+            }
+        };
+    }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The implementation in the class {@link V1Codec} parses license beans and repository models using the
+     * {@link V1XmlParser} if possible and falls back to the XML decoder otherwise.
+     */
     @Override
-    public Decoder decoder(Socket<InputStream> input) { return codec.decoder(input); }
+    public Decoder decoder(final Socket<InputStream> input) {
+        if (!streamlined) {
+            return codec.decoder(input);
+        }
+        return new Decoder() {
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public <T> T decode(final Type expected) throws Exception {
+                final ArtifactBuffer buffer = new ArtifactBuffer();
+                try (InputStream in = input.get()) {
+                    final byte[] chunk = new byte[8 * 1024];
+                    for (int read; 0 <= (read = in.read(chunk)); ) {
+                        buffer.write(chunk, 0, read);
+                    }
+                }
+                final Object obj = V1XmlParser.parse(buffer.byteBuffer());
+                return null != obj ? (T) obj : codec.decoder(buffer.input()).decode(expected);
+            }
+        };
+    }
 }
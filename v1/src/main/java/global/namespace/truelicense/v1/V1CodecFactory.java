@@ -27,6 +27,21 @@ public class V1CodecFactory implements CodecFactory {
         return new V1Codec(this);
     }
 
+    /**
+     * Returns {@code true} if and only if the codec may bypass the XML encoder and decoder for license beans and
+     * repository models.
+     * This is only the case if neither {@link #xmlEncoder(OutputStream)} nor {@link #xmlDecoder(InputStream)} has been
+     * overridden, because the codec could not honor any customization otherwise.
+     */
+    final boolean streamlined() {
+        try {
+            return V1CodecFactory.class == getClass().getMethod("xmlEncoder", OutputStream.class).getDeclaringClass()
+                    && V1CodecFactory.class == getClass().getMethod("xmlDecoder", InputStream.class).getDeclaringClass();
+        } catch (NoSuchMethodException e) {
+            throw new AssertionError(e);
+        }
+    }
+
     /**
      * Returns a new XML encoder.
      */
@@ -4,9 +4,7 @@
  */
 package global.namespace.truelicense.v1;
 
-import global.namespace.fun.io.api.Filter;
 import global.namespace.fun.io.api.Socket;
-import global.namespace.fun.io.bios.BIOS;
 import global.namespace.truelicense.api.crypto.Encryption;
 import global.namespace.truelicense.api.crypto.EncryptionParameters;
 import global.namespace.truelicense.api.passwd.PasswordUsage;
@@ -19,7 +17,8 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.security.spec.AlgorithmParameterSpec;
 
-import static javax.crypto.Cipher.*;
+import static javax.crypto.Cipher.DECRYPT_MODE;
+import static javax.crypto.Cipher.ENCRYPT_MODE;
 
 /**
  * An encryption for use with V1 format license keys.
@@ -33,8 +32,6 @@ final class V1Encryption extends EncryptionMixin implements Encryption {
     private static final String
             ILLEGAL_PBE_ALGORITHM = "V1 format license keys require the " + PBE_ALGORITHM + " algorithm.";
 
-    private final Filter cipher = BIOS.cipher(this::cipher);
-
     V1Encryption(final EncryptionParameters parameters) {
         super(parameters);
         if (!PBE_ALGORITHM.equalsIgnoreCase(parameters.algorithm())) {
@@ -44,16 +41,12 @@ final class V1Encryption extends EncryptionMixin implements Encryption {
 
     @Override
     public Socket<OutputStream> output(Socket<OutputStream> output) {
-        return cipher.output(output);
+        return output.map(out -> outputStream(out, cipher(PasswordUsage.ENCRYPTION)));
     }
 
     @Override
     public Socket<InputStream> input(Socket<InputStream> input) {
-        return cipher.input(input);
-    }
-
-    private Cipher cipher(boolean forEncryption) throws Exception {
-        return cipher(forEncryption ? PasswordUsage.ENCRYPTION : PasswordUsage.DECRYPTION);
+        return input.map(in -> inputStream(in, cipher(PasswordUsage.DECRYPTION)));
     }
 
     private Cipher cipher(final PasswordUsage usage) throws Exception {
@@ -64,8 +57,13 @@ final class V1Encryption extends EncryptionMixin implements Encryption {
                         (byte) 0x05, (byte) 0x02, (byte) 0x19, (byte) 0x71
                 },
                 2005);
-        final Cipher cipher = getInstance(algorithm());
-        cipher.init(PasswordUsage.ENCRYPTION.equals(usage) ? ENCRYPT_MODE : DECRYPT_MODE, secretKey(usage), spec);
+        final Cipher cipher = borrowCipher();
+        try {
+            cipher.init(PasswordUsage.ENCRYPTION.equals(usage) ? ENCRYPT_MODE : DECRYPT_MODE, secretKey(usage), spec);
+        } catch (Exception e) {
+            release(cipher);
+            throw e;
+        }
         return cipher;
     }
 }
@@ -6,15 +6,14 @@ package global.namespace.truelicense.v1;
 
 import de.schlichtherle.xml.GenericCertificate;
 import global.namespace.fun.io.api.Decoder;
-import global.namespace.fun.io.api.Store;
 import global.namespace.truelicense.api.auth.RepositoryController;
 import global.namespace.truelicense.api.auth.RepositoryIntegrityException;
 import global.namespace.truelicense.api.codec.Codec;
+import global.namespace.truelicense.spi.codec.ArtifactBuffer;
 import global.namespace.truelicense.obfuscate.Obfuscate;
 
 import java.security.Signature;
 
-import static global.namespace.fun.io.bios.BIOS.memory;
 import static global.namespace.truelicense.spi.codec.Codecs.charset;
 import static java.util.Base64.getDecoder;
 import static java.util.Base64.getEncoder;
@@ -38,13 +37,12 @@ final class V1RepositoryController implements RepositoryController {
 
     @Override
     public final Decoder sign(final Signature engine, final Object artifact) throws Exception {
-        final Store store = memory();
-        codec.encoder(store).encode(artifact);
-        final byte[] artifactData = store.content();
-        engine.update(artifactData);
+        final ArtifactBuffer buffer = new ArtifactBuffer();
+        codec.encoder(buffer.output()).encode(artifact);
+        engine.update(buffer.byteBuffer());
         final byte[] signatureData = engine.sign();
 
-        final String encodedArtifact = body(codec, artifactData);
+        final String encodedArtifact = body(codec, buffer);
         final String encodedSignature = getEncoder().encodeToString(signatureData);
         final String signatureAlgorithm = engine.getAlgorithm();
 
@@ -53,13 +51,13 @@ final class V1RepositoryController implements RepositoryController {
         model.setSignatureAlgorithm(signatureAlgorithm);
         model.setSignatureEncoding(SIGNATURE_ENCODING);
 
-        return codec.decoder(store);
+        return codec.decoder(buffer.input());
     }
 
-    private static String body(Codec codec, byte[] artifact) {
+    private static String body(Codec codec, ArtifactBuffer artifact) {
         return charset(codec)
-                .map(charset -> new String(artifact, charset))
-                .orElseGet(() -> getEncoder().encodeToString(artifact));
+                .map(artifact::toString)
+                .orElseGet(() -> getEncoder().encodeToString(artifact.toByteArray()));
     }
 
     @Override
@@ -67,14 +65,12 @@ final class V1RepositoryController implements RepositoryController {
         if (!engine.getAlgorithm().equalsIgnoreCase(model.getSignatureAlgorithm())) {
             throw new IllegalArgumentException();
         }
-        final byte[] artifactData = data(codec, model.getEncoded());
-        engine.update(artifactData);
+        final ArtifactBuffer buffer = new ArtifactBuffer(data(codec, model.getEncoded()));
+        engine.update(buffer.byteBuffer());
         if (!engine.verify(getDecoder().decode(model.getSignature()))) {
             throw new RepositoryIntegrityException();
         }
-        final Store store = memory();
-        store.content(artifactData);
-        return codec.decoder(store);
+        return codec.decoder(buffer.input());
     }
 
     private static byte[] data(Codec codec, String body) {
@@ -0,0 +1,307 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.v1;
+
+import de.schlichtherle.license.LicenseContent;
+import de.schlichtherle.xml.GenericCertificate;
+
+import javax.security.auth.x500.X500Principal;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.util.Date;
+
+import static java.nio.charset.CodingErrorAction.REPORT;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Parses the license beans and repository models of V1 format license keys in the restricted dialect of
+ * {@link java.beans.XMLEncoder} without using the java.beans introspection machinery.
+ * This dialect is exactly what the {@link V1XmlWriter} and the XML encoder which is configured by
+ * {@link V1CodecFactory} produce for license beans and repository models.
+ * The parser is strict: If the input deviates in any way, e.g. because it uses object references, char elements,
+ * comments or an unknown class or property, then {@code null} gets returned so that the caller can fall back to the
+ * {@link java.beans.XMLDecoder}.
+ */
+final class V1XmlParser {
+
+    private static final String LICENSE_CONTENT = "de.schlichtherle.license.LicenseContent";
+    private static final String GENERIC_CERTIFICATE = "de.schlichtherle.xml.GenericCertificate";
+    private static final String DATE = "java.util.Date";
+    private static final String X500_PRINCIPAL = "javax.security.auth.x500.X500Principal";
+
+    private static final Unsupported unsupported = new Unsupported();
+
+    private final String in;
+    private int pos;
+
+    private V1XmlParser(final String in) { this.in = in; }
+
+    /**
+     * Returns the object which is encoded in the given XML or {@code null} if it's not written in the restricted
+     * dialect.
+     */
+    static Object parse(final ByteBuffer xml) {
+        try {
+            return new V1XmlParser(UTF_8
+                    .newDecoder()
+                    .onMalformedInput(REPORT)
+                    .onUnmappableCharacter(REPORT)
+                    .decode(xml)
+                    .toString()
+            ).document();
+        } catch (Unsupported | CharacterCodingException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private Object document() throws Unsupported {
+        expect("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+        whitespace();
+        expect("<java version=\"");
+        attribute();
+        expect(" class=\"java.beans.XMLDecoder\">");
+        whitespace();
+        final Object obj = bean();
+        whitespace();
+        expect("</java>");
+        whitespace();
+        if (pos != in.length()) {
+            throw unsupported;
+        }
+        return obj;
+    }
+
+    private Object bean() throws Unsupported {
+        expect("<object class=\"");
+        final String name = attribute();
+        final Object bean;
+        if (LICENSE_CONTENT.equals(name)) {
+            bean = new LicenseContent();
+        } else if (GENERIC_CERTIFICATE.equals(name)) {
+            bean = new GenericCertificate();
+        } else {
+            throw unsupported;
+        }
+        if (accept("/>")) {
+            return bean;
+        }
+        expect(">");
+        while (true) {
+            whitespace();
+            if (accept("</object>")) {
+                return bean;
+            }
+            expect("<void property=\"");
+            final String property = attribute();
+            expect(">");
+            whitespace();
+            final Object value = value();
+            whitespace();
+            expect("</void>");
+            if (bean instanceof LicenseContent) {
+                set((LicenseContent) bean, property, value);
+            } else {
+                set((GenericCertificate) bean, property, value);
+            }
+        }
+    }
+
+    private static void set(final LicenseContent l, final String property, final Object value) throws Unsupported {
+        switch (property) {
+            case "consumerAmount":
+                if (!(value instanceof Integer)) {
+                    throw unsupported;
+                }
+                l.setConsumerAmount((Integer) value);
+                break;
+            case "consumerType":
+                l.setConsumerType(cast(value, String.class));
+                break;
+            case "extra":
+                l.setExtra(value);
+                break;
+            case "holder":
+                l.setHolder(cast(value, X500Principal.class));
+                break;
+            case "info":
+                l.setInfo(cast(value, String.class));
+                break;
+            case "issued":
+                l.setIssued(cast(value, Date.class));
+                break;
+            case "issuer":
+                l.setIssuer(cast(value, X500Principal.class));
+                break;
+            case "notAfter":
+                l.setNotAfter(cast(value, Date.class));
+                break;
+            case "notBefore":
+                l.setNotBefore(cast(value, Date.class));
+                break;
+            case "subject":
+                l.setSubject(cast(value, String.class));
+                break;
+            default:
+                throw unsupported;
+        }
+    }
+
+    private static void set(final GenericCertificate c, final String property, final Object value) throws Unsupported {
+        switch (property) {
+            case "encoded":
+                c.setEncoded(cast(value, String.class));
+                break;
+            case "signature":
+                c.setSignature(cast(value, String.class));
+                break;
+            case "signatureAlgorithm":
+                c.setSignatureAlgorithm(cast(value, String.class));
+                break;
+            case "signatureEncoding":
+                c.setSignatureEncoding(cast(value, String.class));
+                break;
+            default:
+                throw unsupported;
+        }
+    }
+
+    private static <T> T cast(final Object value, final Class<T> type) throws Unsupported {
+        if (null != value && !type.isInstance(value)) {
+            throw unsupported;
+        }
+        return type.cast(value);
+    }
+
+    private Object value() throws Unsupported {
+        if (accept("<null/>")) {
+            return null;
+        } else if (accept("<string>")) {
+            return text("</string>");
+        } else if (accept("<int>")) {
+            return Integer.valueOf(text("</int>"));
+        } else if (accept("<object class=\"")) {
+            final String name = attribute();
+            expect(">");
+            whitespace();
+            final Object obj;
+            if (DATE.equals(name)) {
+                expect("<long>");
+                obj = new Date(Long.parseLong(text("</long>")));
+            } else if (X500_PRINCIPAL.equals(name)) {
+                expect("<string>");
+                obj = new X500Principal(text("</string>"));
+            } else {
+                throw unsupported;
+            }
+            whitespace();
+            expect("</object>");
+            return obj;
+        } else {
+            throw unsupported;
+        }
+    }
+
+    /** Reads the value of an attribute up to and including its closing quote. */
+    private String attribute() throws Unsupported {
+        final int end = in.indexOf('"', pos);
+        if (0 > end) {
+            throw unsupported;
+        }
+        final String value = in.substring(pos, end);
+        if (0 <= value.indexOf('&') || 0 <= value.indexOf('<')) {
+            throw unsupported;
+        }
+        pos = end + 1;
+        return value;
+    }
+
+    /** Reads and unescapes character data up to and including the given end tag. */
+    private String text(final String endTag) throws Unsupported {
+        final int end = in.indexOf('<', pos);
+        if (0 > end || !in.startsWith(endTag, end)) {
+            throw unsupported; // e.g. a char element or a CDATA section
+        }
+        final int ampersand = in.indexOf('&', pos);
+        final String text;
+        if (0 > ampersand || ampersand > end) {
+            text = in.substring(pos, end);
+            if (0 <= text.indexOf('\r')) {
+                throw unsupported; // subject to end-of-line normalization
+            }
+        } else {
+            final StringBuilder sb = new StringBuilder(end - pos);
+            for (int i = pos; i < end; ) {
+                final char c = in.charAt(i);
+                if ('&' == c) {
+                    final int semicolon = in.indexOf(';', i);
+                    if (0 > semicolon || semicolon > end) {
+                        throw unsupported;
+                    }
+                    sb.appendCodePoint(entity(in.substring(i + 1, semicolon)));
+                    i = semicolon + 1;
+                } else if ('\r' == c) {
+                    throw unsupported;
+                } else {
+                    sb.append(c);
+                    i++;
+                }
+            }
+            text = sb.toString();
+        }
+        pos = end + endTag.length();
+        return text;
+    }
+
+    private static int entity(final String name) throws Unsupported {
+        switch (name) {
+            case "amp":
+                return '&';
+            case "lt":
+                return '<';
+            case "gt":
+                return '>';
+            case "quot":
+                return '"';
+            case "apos":
+                return '\'';
+            case "#13":
+                return '\r';
+            default:
+                throw unsupported;
+        }
+    }
+
+    private void whitespace() {
+        for (int length = in.length(); pos < length; pos++) {
+            final char c = in.charAt(pos);
+            if (' ' != c && '\n' != c && '\t' != c && '\r' != c) {
+                break;
+            }
+        }
+    }
+
+    private boolean accept(final String token) {
+        if (in.startsWith(token, pos)) {
+            pos += token.length();
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    private void expect(final String token) throws Unsupported {
+        if (!accept(token)) {
+            throw unsupported;
+        }
+    }
+
+    /** Signals that the input is not written in the restricted dialect. */
+    private static final class Unsupported extends Exception {
+
+        private static final long serialVersionUID = 0L;
+
+        Unsupported() { super(null, null, false, false); }
+    }
+}
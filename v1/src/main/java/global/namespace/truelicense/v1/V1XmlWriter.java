@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.v1;
+
+import de.schlichtherle.license.LicenseContent;
+import de.schlichtherle.xml.GenericCertificate;
+
+import javax.security.auth.x500.X500Principal;
+import java.util.Date;
+
+/**
+ * Writes the license beans and repository models of V1 format license keys in the restricted dialect of
+ * {@link java.beans.XMLEncoder} without using the java.beans introspection machinery.
+ * The output is identical to the output of the XML encoder which is configured by {@link V1CodecFactory}.
+ * If an object cannot get written in the restricted dialect, e.g. because it's an instance of a subclass or its
+ * {@code extra} property is not a string, then {@code null} gets returned so that the caller can fall back to the
+ * XML encoder.
+ */
+final class V1XmlWriter {
+
+    private final StringBuilder sb = new StringBuilder(1024);
+
+    private V1XmlWriter() { }
+
+    /**
+     * Returns the XML encoding of the given object or {@code null} if it cannot get written in the restricted dialect.
+     */
+    static String write(final Object obj) {
+        return new V1XmlWriter().object(obj);
+    }
+
+    private String object(final Object obj) {
+        if (null == obj) {
+            return null;
+        }
+        final Class<?> c = obj.getClass();
+        sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        sb.append("<java version=\"").append(System.getProperty("java.version"))
+                .append("\" class=\"java.beans.XMLDecoder\">\n");
+        final int start = sb.length();
+        sb.append(" <object class=\"").append(c.getName()).append("\">\n");
+        final int properties = sb.length();
+        final boolean ok;
+        if (LicenseContent.class == c) {
+            ok = license((LicenseContent) obj);
+        } else if (GenericCertificate.class == c) {
+            ok = certificate((GenericCertificate) obj);
+        } else {
+            ok = false;
+        }
+        if (!ok) {
+            return null;
+        }
+        if (properties == sb.length()) {
+            // XML encoder uses the short form for an empty body:
+            sb.setLength(start);
+            sb.append(" <object class=\"").append(c.getName()).append("\"/>\n");
+        } else {
+            sb.append(" </object>\n");
+        }
+        sb.append("</java>\n");
+        return sb.toString();
+    }
+
+    private boolean license(final LicenseContent l) {
+        final X500Principal holder = l.getHolder(), issuer = l.getIssuer();
+        if (null != holder && holder == issuer) {
+            return false; // the XML encoder would use an object reference
+        }
+        final Object extra = l.getExtra();
+        if (null != extra && String.class != extra.getClass()) {
+            return false;
+        }
+        final int consumerAmount = l.getConsumerAmount();
+        if (1 != consumerAmount) {
+            sb.append("  <void property=\"consumerAmount\">\n");
+            sb.append("   <int>").append(consumerAmount).append("</int>\n");
+            sb.append("  </void>\n");
+        }
+        return string("consumerType", l.getConsumerType())
+                && string("extra", (String) extra)
+                && principal("holder", holder)
+                && string("info", l.getInfo())
+                && date("issued", l.getIssued())
+                && principal("issuer", issuer)
+                && date("notAfter", l.getNotAfter())
+                && date("notBefore", l.getNotBefore())
+                && string("subject", l.getSubject());
+    }
+
+    private boolean certificate(final GenericCertificate c) {
+        return string("encoded", c.getEncoded())
+                && string("signature", c.getSignature())
+                && string("signatureAlgorithm", c.getSignatureAlgorithm())
+                && string("signatureEncoding", c.getSignatureEncoding());
+    }
+
+    private boolean string(final String property, final String value) {
+        if (null != value) {
+            sb.append("  <void property=\"").append(property).append("\">\n");
+            if (!text("   ", value)) {
+                return false;
+            }
+            sb.append("  </void>\n");
+        }
+        return true;
+    }
+
+    private boolean principal(final String property, final X500Principal value) {
+        if (null != value) {
+            if (X500Principal.class != value.getClass()) {
+                return false;
+            }
+            sb.append("  <void property=\"").append(property).append("\">\n");
+            sb.append("   <object class=\"javax.security.auth.x500.X500Principal\">\n");
+            if (!text("    ", value.getName())) {
+                return false;
+            }
+            sb.append("   </object>\n");
+            sb.append("  </void>\n");
+        }
+        return true;
+    }
+
+    private boolean date(final String property, final Date value) {
+        if (null != value) {
+            if (Date.class != value.getClass()) {
+                return false;
+            }
+            sb.append("  <void property=\"").append(property).append("\">\n");
+            sb.append("   <object class=\"java.util.Date\">\n");
+            sb.append("    <long>").append(value.getTime()).append("</long>\n");
+            sb.append("   </object>\n");
+            sb.append("  </void>\n");
+        }
+        return true;
+    }
+
+    private boolean text(final String indentation, final String value) {
+        sb.append(indentation).append("<string>");
+        for (int i = 0, length = value.length(); i < length; ) {
+            final int point = value.codePointAt(i);
+            if (!valid(point)) {
+                return false; // the XML encoder would use a char element
+            }
+            switch (point) {
+                case '&':
+                    sb.append("&amp;");
+                    break;
+                case '<':
+                    sb.append("&lt;");
+                    break;
+                case '>':
+                    sb.append("&gt;");
+                    break;
+                case '"':
+                    sb.append("&quot;");
+                    break;
+                case '\'':
+                    sb.append("&apos;");
+                    break;
+                case '\r':
+                    sb.append("&#13;");
+                    break;
+                default:
+                    sb.appendCodePoint(point);
+            }
+            i += Character.charCount(point);
+        }
+        sb.append("</string>\n");
+        return true;
+    }
+
+    /** Mirrors the check of the XML encoder, which also rejects unpaired surrogates. */
+    private static boolean valid(final int point) {
+        return 0x0020 <= point && point <= 0xD7FF
+                || 0x000A == point
+                || 0x0009 == point
+                || 0x000D == point
+                || 0xE000 <= point && point <= 0xFFFD
+                || 0x10000 <= point && point <= 0x10FFFF;
+    }
+}
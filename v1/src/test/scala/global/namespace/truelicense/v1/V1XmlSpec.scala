@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.v1
+
+import de.schlichtherle.license.LicenseContent
+import de.schlichtherle.xml.GenericCertificate
+import global.namespace.truelicense.v1.V1XmlSpec._
+import org.scalatest.matchers.should.Matchers._
+import org.scalatest.prop.TableDrivenPropertyChecks._
+import org.scalatest.wordspec.AnyWordSpec
+
+import java.io.{ByteArrayInputStream, ByteArrayOutputStream}
+import java.nio.ByteBuffer
+import java.nio.charset.StandardCharsets.UTF_8
+import java.util.Date
+import javax.security.auth.x500.X500Principal
+
+class V1XmlSpec extends AnyWordSpec {
+
+  "The V1 XML writer" should {
+    "produce the same output as the XML encoder" in {
+      forAll(Streamlined) { obj =>
+        V1XmlWriter write obj shouldBe new String(xmlEncode(obj), UTF_8)
+      }
+    }
+
+    "refuse to write objects which the XML encoder would write using other elements" in {
+      forAll(Fallback) { obj =>
+        V1XmlWriter write obj shouldBe null
+      }
+    }
+  }
+
+  "The V1 XML parser" should {
+    "produce the same objects as the XML decoder" in {
+      forAll(Streamlined) { obj =>
+        val xml = xmlEncode(obj)
+        described(V1XmlParser parse ByteBuffer.wrap(xml)) shouldBe described(xmlDecode(xml))
+      }
+    }
+
+    "refuse to parse input which the XML encoder has written using other elements" in {
+      forAll(Fallback) { obj =>
+        V1XmlParser parse ByteBuffer.wrap(xmlEncode(obj)) shouldBe null
+      }
+    }
+  }
+}
+
+private object V1XmlSpec {
+
+  private val Factory = new V1CodecFactory
+
+  private def xmlEncode(obj: AnyRef): Array[Byte] = {
+    val out = new ByteArrayOutputStream
+    val encoder = Factory xmlEncoder out
+    try {
+      encoder writeObject obj
+    } finally {
+      encoder.close()
+    }
+    out.toByteArray
+  }
+
+  private def xmlDecode(xml: Array[Byte]): AnyRef = {
+    val decoder = Factory xmlDecoder new ByteArrayInputStream(xml)
+    try {
+      decoder.readObject
+    } finally {
+      decoder.close()
+    }
+  }
+
+  private def described(obj: AnyRef): Any = obj match {
+    case c: GenericCertificate => (c.getEncoded, c.getSignature, c.getSignatureAlgorithm, c.getSignatureEncoding)
+    case other => other
+  }
+
+  private def license(f: LicenseContent => Unit): LicenseContent = {
+    val l = new LicenseContent
+    f(l)
+    l
+  }
+
+  private def certificate(f: GenericCertificate => Unit): GenericCertificate = {
+    val c = new GenericCertificate
+    f(c)
+    c
+  }
+
+  private val Special = "a&b<c>d\"e'f\r\ng\th ä😀 ]]>"
+
+  private val Streamlined = Table(
+    "object",
+    license(_ => ()),
+    license { l =>
+      l setConsumerAmount 0
+      l setConsumerType "User"
+      l setExtra "extra"
+      l setHolder new X500Principal("CN=Christian Schlichtherle,O=\"a&b<c>\",C=DE")
+      l setInfo Special
+      l setIssued new Date(1234567890123L)
+      l setIssuer new X500Principal("CN=Schlichtherle IT Services")
+      l setNotAfter new Date(Long.MaxValue)
+      l setNotBefore new Date(-1)
+      l setSubject ""
+    },
+    certificate(_ => ()),
+    certificate { c =>
+      c setEncoded Special
+      c setSignature "c2lnbmF0dXJl"
+      c setSignatureAlgorithm "SHA1withDSA"
+      c setSignatureEncoding "US-ASCII/Base64"
+    }
+  )
+
+  private val Fallback = Table(
+    "object",
+    license { l =>
+      val principal = new X500Principal("CN=Christian Schlichtherle")
+      l setHolder principal
+      l setIssuer principal
+    },
+    license(_ setExtra java.util.Collections.singletonMap("key", "value")),
+    license(_ setInfo "\u0001"),
+    license(_ setSubject "\ud800")
+  )
+}
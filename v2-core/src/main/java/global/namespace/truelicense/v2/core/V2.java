@@ -6,12 +6,11 @@ package global.namespace.truelicense.v2.core;
 
 import global.namespace.truelicense.api.LicenseManagementContextBuilder;
 import global.namespace.truelicense.core.Core;
+import global.namespace.truelicense.core.io.Compression;
 import global.namespace.truelicense.obfuscate.Obfuscate;
 
 import java.util.zip.Deflater;
 
-import static global.namespace.fun.io.bios.BIOS.deflate;
-
 /**
  * This facade provides a static factory method for license management context builders for use with Version 2 (V2)
  * format license keys.
@@ -37,7 +36,7 @@ public final class V2 {
     public static LicenseManagementContextBuilder builder() {
         return Core
                 .builder()
-                .compression(deflate(Deflater.BEST_COMPRESSION))
+                .compression(Compression.deflate(Deflater.BEST_COMPRESSION))
                 .encryptionAlgorithm(ENCRYPTION_ALGORITHM)
                 .encryptionFactory(V2Encryption::new)
                 .keystoreType(KEYSTORE_TYPE);
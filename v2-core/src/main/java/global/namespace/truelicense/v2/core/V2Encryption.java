@@ -11,15 +11,14 @@ import global.namespace.truelicense.api.passwd.PasswordUsage;
 import global.namespace.truelicense.core.crypto.EncryptionMixin;
 
 import javax.crypto.Cipher;
-import javax.crypto.CipherInputStream;
-import javax.crypto.CipherOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.security.AlgorithmParameters;
 
-import static javax.crypto.Cipher.*;
+import static javax.crypto.Cipher.DECRYPT_MODE;
+import static javax.crypto.Cipher.ENCRYPT_MODE;
 
 /**
  * An encryption for use with V2 format license keys.
@@ -39,7 +38,7 @@ final class V2Encryption extends EncryptionMixin implements Encryption {
             assert encoded.length <= Short.MAX_VALUE;
             new DataOutputStream(out).writeShort(encoded.length);
             out.write(encoded);
-            return new CipherOutputStream(out, cipher);
+            return outputStream(out, cipher);
         });
     }
 
@@ -49,13 +48,18 @@ final class V2Encryption extends EncryptionMixin implements Encryption {
             final DataInputStream din = new DataInputStream(in);
             final byte[] encoded = new byte[din.readShort() & 0xffff];
             din.readFully(encoded);
-            return new CipherInputStream(in, cipher(PasswordUsage.DECRYPTION, param(encoded)));
+            return inputStream(in, cipher(PasswordUsage.DECRYPTION, param(encoded)));
         });
     }
 
     private Cipher cipher(final PasswordUsage usage, final AlgorithmParameters param) throws Exception {
-        final Cipher cipher = getInstance(algorithm());
-        cipher.init(PasswordUsage.ENCRYPTION.equals(usage) ? ENCRYPT_MODE : DECRYPT_MODE, secretKey(usage), param);
+        final Cipher cipher = borrowCipher();
+        try {
+            cipher.init(PasswordUsage.ENCRYPTION.equals(usage) ? ENCRYPT_MODE : DECRYPT_MODE, secretKey(usage), param);
+        } catch (Exception e) {
+            release(cipher);
+            throw e;
+        }
         return cipher;
     }
 
@@ -4,6 +4,10 @@
  */
 package global.namespace.truelicense.v2.json;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import global.namespace.fun.io.api.Decoder;
 import global.namespace.fun.io.api.Encoder;
 import global.namespace.fun.io.api.Socket;
@@ -12,8 +16,10 @@ import global.namespace.truelicense.obfuscate.Obfuscate;
 
 import java.io.InputStream;
 import java.io.OutputStream;
-
-import static global.namespace.fun.io.jackson.Jackson.json;
+import java.io.StreamCorruptedException;
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * A codec for use with V2/JSON format license keys.
@@ -26,10 +32,27 @@ final class V2JsonCodec implements Codec {
     @Obfuscate
     private static final String CONTENT_TRANSFER_ENCODING = "8bit";
 
-    private final global.namespace.fun.io.api.Codec codec;
+    // The object mapper is only used to create readers and writers, which are immutable and thread-safe.
+    // Caching them per type saves looking up the root (de)serializers for each operation.
+    private final ConcurrentMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Type, ObjectWriter> writers = new ConcurrentHashMap<>();
+    private final ObjectMapper mapper;
+
+    V2JsonCodec(final V2JsonCodecFactory factory) {
+        this.mapper = factory.objectMapper();
+        // Pre-warm the readers and writers for the types which get encoded and decoded most:
+        for (Class<?> type : new Class<?>[]{V2JsonLicense.class, V2JsonRepositoryModel.class}) {
+            reader(type);
+            writer(type);
+        }
+    }
+
+    private ObjectReader reader(Type type) {
+        return readers.computeIfAbsent(type, t -> mapper.readerFor(mapper.constructType(t)));
+    }
 
-    V2JsonCodec(V2JsonCodecFactory factory) {
-        this.codec = json(factory::objectMapper);
+    private ObjectWriter writer(Type type) {
+        return writers.computeIfAbsent(type, t -> mapper.writerFor(mapper.constructType(t)));
     }
 
     /**
@@ -59,12 +82,29 @@ final class V2JsonCodec implements Codec {
     }
 
     @Override
-    public Encoder encoder(Socket<OutputStream> output) {
-        return codec.encoder(output);
+    public Encoder encoder(final Socket<OutputStream> output) {
+        return obj -> {
+            try (OutputStream out = output.get()) {
+                writer(null != obj ? obj.getClass() : Object.class).writeValue(out, obj);
+            }
+        };
     }
 
     @Override
-    public Decoder decoder(Socket<InputStream> input) {
-        return codec.decoder(input);
+    public Decoder decoder(final Socket<InputStream> input) {
+        return new Decoder() {
+
+            @Override
+            public <T> T decode(final Type expected) throws Exception {
+                try (InputStream in = input.get()) {
+                    return reader(expected).readValue(in);
+                } catch (JsonProcessingException e) {
+                    // Report malformed JSON like any other corrupted stream so that it's not mistaken for an I/O error:
+                    final StreamCorruptedException corrupted = new StreamCorruptedException(e.getMessage());
+                    corrupted.initCause(e);
+                    throw corrupted;
+                }
+            }
+        };
     }
 }
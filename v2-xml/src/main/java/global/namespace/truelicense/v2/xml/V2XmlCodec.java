@@ -10,10 +10,18 @@ import global.namespace.fun.io.api.Socket;
 import global.namespace.truelicense.api.codec.Codec;
 import global.namespace.truelicense.obfuscate.Obfuscate;
 
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.UnmarshalException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.transform.stream.StreamSource;
 import java.io.InputStream;
 import java.io.OutputStream;
-
-import static global.namespace.fun.io.jaxb.JAXB.xml;
+import java.io.StreamCorruptedException;
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A codec for use with V2/XML format license keys.
@@ -26,10 +34,39 @@ final class V2XmlCodec implements Codec {
     @Obfuscate
     private static final String EIGHT_BIT = "8bit";
 
-    private final global.namespace.fun.io.api.Codec codec;
+    /** The maximum number of idle marshallers and unmarshallers. */
+    private static final int MAX_IDLE = 64;
+
+    // Marshallers and unmarshallers are not thread-safe, but may get reused, so they get pooled.
+    // They get configured once upon creation.
+    private final Idle<Marshaller> marshallers = new Idle<>();
+    private final Idle<Unmarshaller> unmarshallers = new Idle<>();
+    private final V2XmlCodecFactory factory;
+    private final JAXBContext context;
+
+    V2XmlCodec(final V2XmlCodecFactory factory) {
+        this.factory = factory;
+        this.context = factory.jaxbContext();
+    }
+
+    private Marshaller marshaller() throws JAXBException {
+        final Marshaller pooled = marshallers.poll();
+        if (null != pooled) {
+            return pooled;
+        }
+        final Marshaller marshaller = context.createMarshaller();
+        factory.configure(marshaller);
+        return marshaller;
+    }
 
-    V2XmlCodec(V2XmlCodecFactory factory) {
-        this.codec = xml(factory.jaxbContext(), factory::configure, factory::configure);
+    private Unmarshaller unmarshaller() throws JAXBException {
+        final Unmarshaller pooled = unmarshallers.poll();
+        if (null != pooled) {
+            return pooled;
+        }
+        final Unmarshaller unmarshaller = context.createUnmarshaller();
+        factory.configure(unmarshaller);
+        return unmarshaller;
     }
 
     /**
@@ -57,12 +94,59 @@ final class V2XmlCodec implements Codec {
     }
 
     @Override
-    public Encoder encoder(Socket<OutputStream> output) {
-        return codec.encoder(output);
+    public Encoder encoder(final Socket<OutputStream> output) {
+        return obj -> {
+            final Marshaller marshaller = marshaller();
+            try (OutputStream out = output.get()) {
+                marshaller.marshal(obj, out);
+            } finally {
+                marshallers.offer(marshaller);
+            }
+        };
     }
 
     @Override
-    public Decoder decoder(Socket<InputStream> input) {
-        return codec.decoder(input);
+    public Decoder decoder(final Socket<InputStream> input) {
+        return new Decoder() {
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public <T> T decode(final Type expected) throws Exception {
+                final Unmarshaller unmarshaller = unmarshaller();
+                try (InputStream in = input.get()) {
+                    return unmarshaller.unmarshal(new StreamSource(in), (Class<T>) expected).getValue();
+                } catch (UnmarshalException e) {
+                    // Report malformed XML like any other corrupted stream so that it's not mistaken for an
+                    // I/O error:
+                    final StreamCorruptedException corrupted = new StreamCorruptedException(e.toString());
+                    corrupted.initCause(e);
+                    throw corrupted;
+                } finally {
+                    unmarshallers.offer(unmarshaller);
+                }
+            }
+        };
+    }
+
+    private static final class Idle<E> {
+
+        final ConcurrentLinkedDeque<E> elements = new ConcurrentLinkedDeque<>();
+        final AtomicInteger size = new AtomicInteger();
+
+        E poll() {
+            final E element = elements.pollFirst();
+            if (null != element) {
+                size.decrementAndGet();
+            }
+            return element;
+        }
+
+        void offer(final E element) {
+            if (size.incrementAndGet() <= MAX_IDLE) {
+                elements.offerFirst(element);
+            } else {
+                size.decrementAndGet();
+            }
+        }
     }
 }
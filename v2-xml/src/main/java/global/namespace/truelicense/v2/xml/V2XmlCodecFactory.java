@@ -17,12 +17,28 @@ import javax.xml.bind.Unmarshaller;
 @SuppressWarnings({"WeakerAccess", "unused"})
 public class V2XmlCodecFactory implements CodecFactory {
 
+    private volatile V2XmlCodec codec;
+
+    /**
+     * Returns the codec of this factory.
+     * The codec is thread-safe, so it gets created only once and shares its JAXB context and its pools of marshallers
+     * and unmarshallers with all callers.
+     */
     public final Codec codec() {
-        return new V2XmlCodec(this);
+        V2XmlCodec c = codec;
+        if (null == c) {
+            synchronized (this) {
+                if (null == (c = codec)) {
+                    codec = c = new V2XmlCodec(this);
+                }
+            }
+        }
+        return c;
     }
 
     /**
      * Returns a new JAXB context.
+     * This method gets called only once per factory.
      */
     public JAXBContext jaxbContext() {
         return jaxbContext(classesToBeBound());
@@ -48,12 +64,14 @@ public class V2XmlCodecFactory implements CodecFactory {
 
     /**
      * Configures the given marshaller which has been created by the {@link #jaxbContext()}.
+     * This method gets called only once per marshaller because the codec pools them for reuse.
      */
     protected void configure(Marshaller marshaller) {
     }
 
     /**
      * Configures the given unmarshaller which has been created by the {@link #jaxbContext()}.
+     * This method gets called only once per unmarshaller because the codec pools them for reuse.
      */
     protected void configure(Unmarshaller unmarshaller) {
     }
@@ -5,14 +5,13 @@
 package global.namespace.truelicense.v2.xml;
 
 import global.namespace.fun.io.api.Decoder;
-import global.namespace.fun.io.api.Store;
 import global.namespace.truelicense.api.auth.RepositoryController;
 import global.namespace.truelicense.api.auth.RepositoryIntegrityException;
 import global.namespace.truelicense.api.codec.Codec;
+import global.namespace.truelicense.spi.codec.ArtifactBuffer;
 
 import java.security.Signature;
 
-import static global.namespace.fun.io.bios.BIOS.memory;
 import static global.namespace.truelicense.spi.codec.Codecs.charset;
 import static java.util.Base64.getDecoder;
 import static java.util.Base64.getEncoder;
@@ -33,13 +32,12 @@ final class V2XmlRepositoryController implements RepositoryController {
 
     @Override
     public final Decoder sign(final Signature engine, final Object artifact) throws Exception {
-        final Store store = memory();
-        codec.encoder(store).encode(artifact);
-        final byte[] artifactData = store.content();
-        engine.update(artifactData);
+        final ArtifactBuffer buffer = new ArtifactBuffer();
+        codec.encoder(buffer.output()).encode(artifact);
+        engine.update(buffer.byteBuffer());
         final byte[] signatureData = engine.sign();
 
-        final String encodedArtifact = body(codec, artifactData);
+        final String encodedArtifact = body(codec, buffer);
         final String encodedSignature = getEncoder().encodeToString(signatureData);
         final String signatureAlgorithm = engine.getAlgorithm();
 
@@ -47,13 +45,13 @@ final class V2XmlRepositoryController implements RepositoryController {
         model.signature = encodedSignature;
         model.algorithm = signatureAlgorithm;
 
-        return codec.decoder(store);
+        return codec.decoder(buffer.input());
     }
 
-    private static String body(Codec codec, byte[] artifact) {
+    private static String body(Codec codec, ArtifactBuffer artifact) {
         return charset(codec)
-                .map(charset -> new String(artifact, charset))
-                .orElseGet(() -> getEncoder().encodeToString(artifact));
+                .map(artifact::toString)
+                .orElseGet(() -> getEncoder().encodeToString(artifact.toByteArray()));
     }
 
     @Override
@@ -61,14 +59,12 @@ final class V2XmlRepositoryController implements RepositoryController {
         if (!engine.getAlgorithm().equalsIgnoreCase(model.algorithm)) {
             throw new IllegalArgumentException();
         }
-        final byte[] artifactData = data(codec, model.artifact);
-        engine.update(artifactData);
+        final ArtifactBuffer buffer = new ArtifactBuffer(data(codec, model.artifact));
+        engine.update(buffer.byteBuffer());
         if (!engine.verify(getDecoder().decode(model.signature))) {
             throw new RepositoryIntegrityException();
         }
-        final Store store = memory();
-        store.content(artifactData);
-        return codec.decoder(store);
+        return codec.decoder(buffer.input());
     }
 
     private static byte[] data(Codec codec, String body) {
@@ -6,12 +6,9 @@ package global.namespace.truelicense.v4;
 
 import global.namespace.truelicense.api.LicenseManagementContextBuilder;
 import global.namespace.truelicense.core.Core;
+import global.namespace.truelicense.core.io.Compression;
 import global.namespace.truelicense.obfuscate.Obfuscate;
 
-import java.util.zip.Deflater;
-
-import static global.namespace.fun.io.bios.BIOS.deflate;
-
 /**
  * This facade provides a static factory method for license management context builders for use with Version 4 (V4)
  * format license keys.
@@ -33,7 +30,7 @@ public final class V4 {
         return Core
                 .builder()
                 .codecFactory(new V4CodecFactory())
-                .compression(deflate(Deflater.BEST_COMPRESSION))
+                .compression(Compression.adaptive())
                 .encryptionAlgorithm(ENCRYPTION_ALGORITHM)
                 .encryptionFactory(V4Encryption::new)
                 .keystoreType(KEYSTORE_TYPE)
@@ -32,6 +32,7 @@ public class V4CodecFactory implements CodecFactory {
 
     /**
      * Returns a new object mapper.
+     * This method gets called only once per codec.
      */
     public ObjectMapper objectMapper() {
         return configure(new ObjectMapper());
@@ -0,0 +1,228 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.v5.binary;
+
+import global.namespace.fun.io.api.Socket;
+import global.namespace.truelicense.api.crypto.Encryption;
+import global.namespace.truelicense.api.crypto.EncryptionParameters;
+import global.namespace.truelicense.api.passwd.Password;
+import global.namespace.truelicense.api.passwd.PasswordUsage;
+import global.namespace.truelicense.core.crypto.EncryptionMixin;
+import global.namespace.truelicense.obfuscate.Obfuscate;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+import javax.security.auth.DestroyFailedException;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static global.namespace.truelicense.core.crypto.EnginePool.SECRET_KEY_FACTORIES;
+import static javax.crypto.Cipher.DECRYPT_MODE;
+import static javax.crypto.Cipher.ENCRYPT_MODE;
+
+/**
+ * An AES/GCM encryption with a secret key which gets derived from the password protection and cached per salt.
+ * The encrypted data starts with a header which consists of a version byte, the length of the salt as a byte, the salt
+ * and the nonce.
+ *
+ * @see AesGcmEncryptionFactory
+ */
+final class AesGcmEncryption extends EncryptionMixin implements Encryption {
+
+    @Obfuscate
+    private static final String CIPHER_ALGORITHM = "AES/GCM/NoPadding";
+
+    @Obfuscate
+    private static final String KEY_DERIVATION_ALGORITHM = "PBKDF2WithHmacSHA256";
+
+    @Obfuscate
+    private static final String KEY_ALGORITHM = "AES";
+
+    private static final int VERSION = 1;
+    private static final int ITERATIONS = 65536;
+    private static final int KEY_BITS = 128, TAG_BITS = 128;
+    private static final int SALT_BYTES = 16, NONCE_BYTES = 12;
+
+    /** The maximum number of cached decryption keys - there is usually only one salt per vendor. */
+    private static final int MAX_KEYS = 16;
+
+    private static final SecureRandom random = new SecureRandom();
+
+    private final byte[] salt = new byte[SALT_BYTES];
+    private final Map<ByteBuffer, SecretKey> decryptionKeys = new ConcurrentHashMap<>();
+    private final EncryptionParameters parameters;
+    private volatile SecretKey encryptionKey;
+
+    AesGcmEncryption(final EncryptionParameters parameters) {
+        super(parameters);
+        this.parameters = parameters;
+        random.nextBytes(salt);
+    }
+
+    @Override
+    public Socket<OutputStream> output(final Socket<OutputStream> output) {
+        return output.map(out -> new ByteArrayOutputStream(1024) {
+
+            boolean closed;
+
+            @Override
+            public void close() throws IOException {
+                if (!closed) {
+                    closed = true;
+                    try (OutputStream o = out) {
+                        o.write(encrypt(buf, count));
+                    }
+                }
+            }
+        });
+    }
+
+    @Override
+    public Socket<InputStream> input(final Socket<InputStream> input) {
+        return input.map(in -> {
+            final ByteArrayOutputStream encrypted = new ByteArrayOutputStream(1024);
+            try (InputStream i = in) {
+                final byte[] chunk = new byte[8 * 1024];
+                for (int read; 0 <= (read = i.read(chunk)); ) {
+                    encrypted.write(chunk, 0, read);
+                }
+            }
+            return new ByteArrayInputStream(decrypt(encrypted.toByteArray()));
+        });
+    }
+
+    private byte[] encrypt(final byte[] plain, final int length) throws IOException {
+        final byte[] nonce = new byte[NONCE_BYTES];
+        random.nextBytes(nonce);
+        try {
+            final Cipher cipher = ciphers().borrow(CIPHER_ALGORITHM);
+            try {
+                cipher.init(ENCRYPT_MODE, encryptionKey(), new GCMParameterSpec(TAG_BITS, nonce));
+                final int header = 2 + SALT_BYTES + NONCE_BYTES;
+                final byte[] result = new byte[header + cipher.getOutputSize(length)];
+                result[0] = VERSION;
+                result[1] = SALT_BYTES;
+                System.arraycopy(salt, 0, result, 2, SALT_BYTES);
+                System.arraycopy(nonce, 0, result, 2 + SALT_BYTES, NONCE_BYTES);
+                final int written = cipher.doFinal(plain, 0, length, result, header);
+                return header + written == result.length ? result : Arrays.copyOf(result, header + written);
+            } finally {
+                ciphers().release(CIPHER_ALGORITHM, cipher);
+            }
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+    }
+
+    private byte[] decrypt(final byte[] encrypted) throws Exception {
+        if (2 > encrypted.length || VERSION != encrypted[0] || SALT_BYTES != encrypted[1]) {
+            throw new StreamCorruptedException();
+        }
+        final int header = 2 + SALT_BYTES + NONCE_BYTES;
+        if (header > encrypted.length) {
+            throw new EOFException();
+        }
+        final ByteBuffer salt = ByteBuffer.wrap(Arrays.copyOfRange(encrypted, 2, 2 + SALT_BYTES));
+        final Cipher cipher = ciphers().borrow(CIPHER_ALGORITHM);
+        try {
+            cipher.init(DECRYPT_MODE, decryptionKey(salt),
+                    new GCMParameterSpec(TAG_BITS, encrypted, 2 + SALT_BYTES, NONCE_BYTES));
+            // Throws an AEADBadTagException if the data has been tampered with:
+            return cipher.doFinal(encrypted, header, encrypted.length - header);
+        } finally {
+            ciphers().release(CIPHER_ALGORITHM, cipher);
+        }
+    }
+
+    private SecretKey encryptionKey() throws Exception {
+        SecretKey key = encryptionKey;
+        if (null == key) {
+            synchronized (this) {
+                if (null == (key = encryptionKey)) {
+                    encryptionKey = key = deriveKey(PasswordUsage.ENCRYPTION, salt);
+                }
+            }
+        }
+        return key;
+    }
+
+    private SecretKey decryptionKey(final ByteBuffer salt) throws Exception {
+        SecretKey key = decryptionKeys.get(salt);
+        if (null == key) {
+            key = deriveKey(PasswordUsage.DECRYPTION, salt.array());
+            // Evict one key at a time so that a stream of license keys with different salts cannot flush the keys
+            // for the usual salts all at once:
+            final Iterator<ByteBuffer> salts = decryptionKeys.keySet().iterator();
+            while (MAX_KEYS <= decryptionKeys.size() && salts.hasNext()) {
+                final SecretKey evicted = decryptionKeys.remove(salts.next());
+                if (null != evicted) {
+                    destroy(evicted);
+                }
+            }
+            decryptionKeys.put(salt, key);
+        }
+        return key;
+    }
+
+    private SecretKey deriveKey(final PasswordUsage usage, final byte[] salt) throws Exception {
+        try (Password password = parameters.protection().password(usage)) {
+            final PBEKeySpec spec = new PBEKeySpec(password.characters(), salt, ITERATIONS, KEY_BITS);
+            final SecretKeyFactory factory = SECRET_KEY_FACTORIES.borrow(KEY_DERIVATION_ALGORITHM);
+            try {
+                return new SecretKeySpec(factory.generateSecret(spec).getEncoded(), KEY_ALGORITHM);
+            } finally {
+                SECRET_KEY_FACTORIES.release(KEY_DERIVATION_ALGORITHM, factory);
+                spec.clearPassword();
+            }
+        }
+    }
+
+    /**
+     * Destroys the cached secret keys.
+     * This object remains usable: Any subsequent encryption or decryption derives the secret keys again.
+     */
+    @Override
+    public void close() {
+        super.close();
+        final SecretKey key;
+        synchronized (this) {
+            key = encryptionKey;
+            encryptionKey = null;
+        }
+        if (null != key) {
+            destroy(key);
+        }
+        clear();
+    }
+
+    private void clear() {
+        for (final ByteBuffer salt : decryptionKeys.keySet()) {
+            final SecretKey key = decryptionKeys.remove(salt);
+            if (null != key) {
+                destroy(key);
+            }
+        }
+    }
+
+    private static void destroy(final SecretKey key) {
+        try {
+            key.destroy();
+        } catch (DestroyFailedException ignored) {
+            // SecretKeySpec doesn't support destroying its key, so all we can do is to drop the reference.
+        }
+    }
+}
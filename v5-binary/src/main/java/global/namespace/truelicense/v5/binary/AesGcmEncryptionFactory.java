@@ -0,0 +1,30 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.v5.binary;
+
+import global.namespace.truelicense.api.crypto.Encryption;
+import global.namespace.truelicense.api.crypto.EncryptionFactory;
+import global.namespace.truelicense.api.crypto.EncryptionParameters;
+
+/**
+ * An encryption factory for AES/GCM authenticated encryption.
+ * To use it, call {@code V5Binary.builder().encryptionFactory(new AesGcmEncryptionFactory())}.
+ * <p>
+ * The secret key gets derived from the password protection using PBKDF2 with HMAC-SHA256 and a random salt.
+ * Unlike the password based encryptions of the other formats, the derived key gets cached by the encryption, so the
+ * costly key derivation happens only once per license manager and salt.
+ * The data gets encrypted and decrypted in a single pass over a byte array with a random nonce.
+ * When decrypting, the authentication tag gets checked before the data gets passed on to decompression.
+ * <p>
+ * Note that the encryption algorithm which is configured by the license management context builder is ignored and
+ * that license keys which have been encrypted using this factory can only get decrypted using this factory, too.
+ */
+public final class AesGcmEncryptionFactory implements EncryptionFactory {
+
+    @Override
+    public Encryption encryption(EncryptionParameters encryptionParameters) {
+        return new AesGcmEncryption(encryptionParameters);
+    }
+}
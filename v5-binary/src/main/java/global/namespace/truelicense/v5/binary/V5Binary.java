@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.v5.binary;
+
+import global.namespace.truelicense.api.LicenseManagementContextBuilder;
+import global.namespace.truelicense.core.Core;
+import global.namespace.truelicense.core.crypto.PbeEncryption;
+import global.namespace.truelicense.core.io.Compression;
+import global.namespace.truelicense.obfuscate.Obfuscate;
+
+/**
+ * This facade provides a static factory method for license management context builders for use with Version 5 binary
+ * (V5/Binary) format license keys.
+ * Unlike V4 format license keys, the license bean and the repository model get encoded in a compact binary format and
+ * the signature gets computed over the raw bytes of the encoded license bean.
+ * The encryption is the same as for V4 format license keys.
+ * This class should not be used by applications because the created license management context builders are only
+ * partially configured.
+ */
+public final class V5Binary {
+
+    @Obfuscate
+    private static final String ENCRYPTION_ALGORITHM = "PBEWithHmacSHA256AndAES_128";
+
+    @Obfuscate
+    private static final String KEYSTORE_TYPE = "PKCS12";
+
+    /**
+     * Returns a new license management context builder for managing V5/Binary format license keys.
+     */
+    public static LicenseManagementContextBuilder builder() {
+        return Core
+                .builder()
+                .codecFactory(new V5BinaryCodecFactory())
+                .compression(Compression.adaptive())
+                .encryptionAlgorithm(ENCRYPTION_ALGORITHM)
+                .encryptionFactory(PbeEncryption::new)
+                .keystoreType(KEYSTORE_TYPE)
+                .licenseFactory(new V5BinaryLicenseFactory())
+                .repositoryFactory(new V5BinaryRepositoryFactory());
+    }
+
+    private V5Binary() {
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.v5.binary;
+
+import global.namespace.fun.io.api.Decoder;
+import global.namespace.fun.io.api.Encoder;
+import global.namespace.fun.io.api.Socket;
+import global.namespace.truelicense.api.License;
+import global.namespace.truelicense.api.codec.Codec;
+import global.namespace.truelicense.obfuscate.Obfuscate;
+import global.namespace.truelicense.spi.codec.ArtifactBuffer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+
+/**
+ * A codec for use with V5/Binary format license keys.
+ * <p>
+ * An encoded object consists of a kind byte, a version byte, a sequence of fields and an end byte.
+ * Each field consists of a tag byte, the length of its payload as an unsigned variable-length integer and the
+ * payload itself.
+ * Fields with default values are omitted.
+ * When decoding, fields with an unknown tag are skipped, so that future versions may add more fields without changing
+ * the version byte.
+ * The version byte only changes for incompatible changes, so a decoder rejects any version which is greater than
+ * {@link #VERSION}.
+ */
+final class V5BinaryCodec implements Codec {
+
+    @Obfuscate
+    private static final String CONTENT_TYPE = "application/octet-stream";
+
+    @Obfuscate
+    private static final String CONTENT_TRANSFER_ENCODING = "binary";
+
+    static final int VERSION = 1;
+
+    private static final int LICENSE = 'L', REPOSITORY_MODEL = 'R';
+
+    // License fields:
+    private static final int CONSUMER_AMOUNT = 1, CONSUMER_TYPE = 2, EXTRA = 3, HOLDER = 4, INFO = 5, ISSUED = 6,
+            ISSUER = 7, NOT_AFTER = 8, NOT_BEFORE = 9, SUBJECT = 10;
+
+    // Repository model fields:
+    private static final int ALGORITHM = 1, ARTIFACT = 2, SIGNATURE = 3;
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The implementation in the class {@link V5BinaryCodec}
+     * returns {@code "application/octet-stream"}.
+     */
+    @Override
+    public String contentType() {
+        return CONTENT_TYPE;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The implementation in the class {@link V5BinaryCodec}
+     * returns {@code "binary"}.
+     */
+    @Override
+    public String contentTransferEncoding() {
+        return CONTENT_TRANSFER_ENCODING;
+    }
+
+    @Override
+    public Encoder encoder(final Socket<OutputStream> output) {
+        return obj -> {
+            final ArtifactBuffer buffer = new ArtifactBuffer();
+            final V5BinaryWriter writer = new V5BinaryWriter(buffer);
+            if (obj instanceof License) {
+                license(writer, (License) obj);
+            } else if (obj instanceof V5BinaryRepositoryModel) {
+                model(writer, (V5BinaryRepositoryModel) obj);
+            } else {
+                throw new IllegalArgumentException("Unsupported type: " + (null != obj ? obj.getClass() : null));
+            }
+            try (OutputStream out = output.get()) {
+                buffer.writeTo(out);
+            }
+        };
+    }
+
+    private static void license(final V5BinaryWriter writer, final License license) throws IOException {
+        writer.header(LICENSE);
+        if (1 != license.getConsumerAmount()) {
+            writer.number(CONSUMER_AMOUNT, license.getConsumerAmount());
+        }
+        writer.string(CONSUMER_TYPE, license.getConsumerType());
+        writer.value(EXTRA, license.getExtra());
+        writer.principal(HOLDER, license.getHolder());
+        writer.string(INFO, license.getInfo());
+        writer.date(ISSUED, license.getIssued());
+        writer.principal(ISSUER, license.getIssuer());
+        writer.date(NOT_AFTER, license.getNotAfter());
+        writer.date(NOT_BEFORE, license.getNotBefore());
+        writer.string(SUBJECT, license.getSubject());
+        writer.end();
+    }
+
+    private static void model(final V5BinaryWriter writer, final V5BinaryRepositoryModel model) throws IOException {
+        writer.header(REPOSITORY_MODEL);
+        writer.string(ALGORITHM, model.algorithm);
+        writer.bytes(ARTIFACT, model.artifact);
+        writer.bytes(SIGNATURE, model.signature);
+        writer.end();
+    }
+
+    @Override
+    public Decoder decoder(final Socket<InputStream> input) {
+        return new Decoder() {
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public <T> T decode(final Type expected) throws Exception {
+                final V5BinaryReader reader;
+                try (InputStream in = input.get()) {
+                    reader = V5BinaryReader.of(in);
+                }
+                final int kind = reader.header();
+                final boolean model = V5BinaryRepositoryModel.class == expected;
+                if (model && REPOSITORY_MODEL == kind) {
+                    return (T) model(reader);
+                } else if (!model && LICENSE == kind) {
+                    return (T) license(reader, expected);
+                } else {
+                    throw new StreamCorruptedException("Unexpected kind of object " + kind + " for " + expected);
+                }
+            }
+        };
+    }
+
+    private static License license(final V5BinaryReader reader, final Type expected) throws Exception {
+        final License license = newLicense(expected);
+        for (int tag; 0 != (tag = reader.tag()); ) {
+            switch (tag) {
+                case CONSUMER_AMOUNT:
+                    license.setConsumerAmount(reader.integer());
+                    break;
+                case CONSUMER_TYPE:
+                    license.setConsumerType(reader.string());
+                    break;
+                case EXTRA:
+                    license.setExtra(reader.value());
+                    break;
+                case HOLDER:
+                    license.setHolder(reader.principal());
+                    break;
+                case INFO:
+                    license.setInfo(reader.string());
+                    break;
+                case ISSUED:
+                    license.setIssued(reader.date());
+                    break;
+                case ISSUER:
+                    license.setIssuer(reader.principal());
+                    break;
+                case NOT_AFTER:
+                    license.setNotAfter(reader.date());
+                    break;
+                case NOT_BEFORE:
+                    license.setNotBefore(reader.date());
+                    break;
+                case SUBJECT:
+                    license.setSubject(reader.string());
+                    break;
+                default:
+                    reader.skip();
+            }
+        }
+        return license;
+    }
+
+    private static License newLicense(final Type expected) throws Exception {
+        if (expected instanceof Class) {
+            final Class<?> c = (Class<?>) expected;
+            if (License.class.isAssignableFrom(c) && !c.isInterface() && !Modifier.isAbstract(c.getModifiers())) {
+                return (License) c.getDeclaredConstructor().newInstance();
+            }
+        }
+        return new V5BinaryLicense();
+    }
+
+    private static V5BinaryRepositoryModel model(final V5BinaryReader reader) throws IOException {
+        final V5BinaryRepositoryModel model = new V5BinaryRepositoryModel();
+        for (int tag; 0 != (tag = reader.tag()); ) {
+            switch (tag) {
+                case ALGORITHM:
+                    model.algorithm = reader.string();
+                    break;
+                case ARTIFACT:
+                    model.artifact = reader.bytes();
+                    break;
+                case SIGNATURE:
+                    model.signature = reader.bytes();
+                    break;
+                default:
+                    reader.skip();
+            }
+        }
+        return model;
+    }
+}
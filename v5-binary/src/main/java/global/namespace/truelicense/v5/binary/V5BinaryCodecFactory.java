@@ -0,0 +1,22 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.v5.binary;
+
+import global.namespace.truelicense.api.codec.Codec;
+import global.namespace.truelicense.api.codec.CodecFactory;
+
+/**
+ * A codec factory for use with V5/Binary format license keys.
+ * The codec encodes license beans and repository models in a compact, length-prefixed binary format.
+ * The extra data of license beans is restricted to JSON-like values, that is {@code null}, {@link Boolean},
+ * {@link Integer}, {@link Long}, {@link Double}, {@link String}, {@link java.util.List} and {@link java.util.Map}
+ * with string keys, nested to any depth.
+ */
+public class V5BinaryCodecFactory implements CodecFactory {
+
+    public final Codec codec() {
+        return new V5BinaryCodec();
+    }
+}
@@ -0,0 +1,16 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.v5.binary;
+
+import global.namespace.truelicense.core.AbstractLicense;
+
+/**
+ * A license for use with V5/Binary format license keys.
+ * Note that the binary format only encodes the properties of the {@link global.namespace.truelicense.api.License}
+ * interface, so any custom properties should get stored in the {@linkplain #setExtra(Object) extra data} instead of a
+ * subclass.
+ */
+public class V5BinaryLicense extends AbstractLicense {
+}
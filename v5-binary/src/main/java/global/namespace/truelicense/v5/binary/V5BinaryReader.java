@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.v5.binary;
+
+import javax.security.auth.x500.X500Principal;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.util.*;
+
+import static global.namespace.truelicense.v5.binary.V5BinaryWriter.*;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Reads the fields of an object in the V5/Binary format.
+ * This class is not thread-safe.
+ *
+ * @see V5BinaryWriter
+ */
+final class V5BinaryReader {
+
+    private final byte[] in;
+    private final int length;
+    private int pos;
+
+    // The end of the payload of the current field or the end of the input while reading the header or the next tag.
+    private int fieldEnd;
+
+    private V5BinaryReader(final byte[] in, final int length) {
+        this.in = in;
+        this.length = this.fieldEnd = length;
+    }
+
+    /** Reads the given input stream up to its end, but doesn't close it. */
+    static V5BinaryReader of(final InputStream in) throws IOException {
+        byte[] buf = new byte[512];
+        int length = 0;
+        for (int read; 0 <= (read = in.read(buf, length, buf.length - length)); ) {
+            if ((length += read) == buf.length) {
+                buf = Arrays.copyOf(buf, buf.length << 1);
+            }
+        }
+        return new V5BinaryReader(buf, length);
+    }
+
+    /** Reads the header and returns the kind of the encoded object. */
+    int header() throws IOException {
+        final int kind = u8();
+        final int version = u8();
+        if (V5BinaryCodec.VERSION < version) {
+            throw new StreamCorruptedException("Unsupported version " + version);
+        }
+        fieldEnd = pos;
+        return kind;
+    }
+
+    /** Skips any remainder of the current field and returns the tag of the next field or {@link #END}. */
+    int tag() throws IOException {
+        pos = fieldEnd;
+        fieldEnd = length;
+        final int tag = u8();
+        if (END != tag) {
+            final long size = varint();
+            if (0 > size) {
+                throw new StreamCorruptedException("Negative field size");
+            }
+            if (size > length - pos) {
+                throw new EOFException();
+            }
+            fieldEnd = pos + (int) size;
+        }
+        return tag;
+    }
+
+    /** Skips the current field. */
+    void skip() { pos = fieldEnd; }
+
+    long number() throws IOException { return zigzag(); }
+
+    int integer() throws IOException {
+        final long value = zigzag();
+        if ((int) value != value) {
+            throw new StreamCorruptedException("Integer out of range");
+        }
+        return (int) value;
+    }
+
+    String string() {
+        final String value = new String(in, pos, fieldEnd - pos, UTF_8);
+        pos = fieldEnd;
+        return value;
+    }
+
+    X500Principal principal() { return new X500Principal(string()); }
+
+    Date date() throws IOException { return new Date(number()); }
+
+    byte[] bytes() {
+        final byte[] value = Arrays.copyOfRange(in, pos, fieldEnd);
+        pos = fieldEnd;
+        return value;
+    }
+
+    Object value() throws IOException { return value(0); }
+
+    private Object value(final int depth) throws IOException {
+        final int type = u8();
+        if ((LIST == type || MAP == type) && MAX_DEPTH <= depth) {
+            throw new StreamCorruptedException("Value nested too deeply");
+        }
+        switch (type) {
+            case NULL:
+                return null;
+            case FALSE:
+                return Boolean.FALSE;
+            case TRUE:
+                return Boolean.TRUE;
+            case INT:
+                return integer();
+            case LONG:
+                return zigzag();
+            case DOUBLE: {
+                long bits = 0;
+                for (int i = 0; i < 8; i++) {
+                    bits = bits << 8 | u8();
+                }
+                return Double.longBitsToDouble(bits);
+            }
+            case STRING:
+                return prefixedString();
+            case LIST: {
+                final int size = size();
+                final List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(value(depth + 1));
+                }
+                return list;
+            }
+            case MAP: {
+                final int size = size();
+                final Map<String, Object> map = new LinkedHashMap<>(size * 4 / 3 + 1);
+                for (int i = 0; i < size; i++) {
+                    final String key = prefixedString();
+                    map.put(key, value(depth + 1));
+                }
+                return map;
+            }
+            default:
+                throw new StreamCorruptedException("Unknown value type " + type);
+        }
+    }
+
+    private String prefixedString() throws IOException {
+        final int size = size();
+        final String value = new String(in, pos, size, UTF_8);
+        pos += size;
+        return value;
+    }
+
+    /** Reads a size and checks that it doesn't exceed the remaining input of the current field. */
+    private int size() throws IOException {
+        final long size = varint();
+        if (0 > size) {
+            throw new StreamCorruptedException("Negative size");
+        }
+        if (size > fieldEnd - pos) {
+            throw new EOFException();
+        }
+        return (int) size;
+    }
+
+    private int u8() throws IOException {
+        if (pos >= fieldEnd) {
+            throw new EOFException();
+        }
+        return in[pos++] & 0xff;
+    }
+
+    private long zigzag() throws IOException {
+        final long value = varint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private long varint() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final int b = u8();
+            value |= (long) (b & 0x7f) << shift;
+            if (0 == (b & 0x80)) {
+                return value;
+            }
+        }
+        throw new StreamCorruptedException("Malformed variable-length integer");
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.v5.binary;
+
+import global.namespace.fun.io.api.Decoder;
+import global.namespace.truelicense.api.auth.RepositoryController;
+import global.namespace.truelicense.api.auth.RepositoryIntegrityException;
+import global.namespace.truelicense.api.codec.Codec;
+import global.namespace.truelicense.spi.codec.ArtifactBuffer;
+
+import java.security.Signature;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A repository controller for use with V5/Binary format license keys.
+ * The signature is computed over the raw bytes of the encoded artifact, so there is no need for Base64 encoding.
+ */
+final class V5BinaryRepositoryController implements RepositoryController {
+
+    private final Codec codec;
+    private final V5BinaryRepositoryModel model;
+
+    V5BinaryRepositoryController(final Codec codec, final V5BinaryRepositoryModel model) {
+        this.codec = requireNonNull(codec);
+        this.model = requireNonNull(model);
+    }
+
+    @Override
+    public final Decoder sign(final Signature engine, final Object artifact) throws Exception {
+        final ArtifactBuffer buffer = new ArtifactBuffer();
+        codec.encoder(buffer.output()).encode(artifact);
+        engine.update(buffer.byteBuffer());
+        final byte[] signatureData = engine.sign();
+
+        model.artifact = buffer.toByteArray();
+        model.signature = signatureData;
+        model.algorithm = engine.getAlgorithm();
+
+        return codec.decoder(buffer.input());
+    }
+
+    @Override
+    public final Decoder verify(final Signature engine) throws Exception {
+        if (!engine.getAlgorithm().equalsIgnoreCase(model.algorithm)) {
+            throw new IllegalArgumentException();
+        }
+        final ArtifactBuffer buffer = new ArtifactBuffer(requireNonNull(model.artifact));
+        engine.update(buffer.byteBuffer());
+        if (!engine.verify(requireNonNull(model.signature))) {
+            throw new RepositoryIntegrityException();
+        }
+        return codec.decoder(buffer.input());
+    }
+}
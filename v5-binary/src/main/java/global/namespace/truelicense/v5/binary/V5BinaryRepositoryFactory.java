@@ -0,0 +1,30 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.v5.binary;
+
+import global.namespace.truelicense.api.auth.RepositoryController;
+import global.namespace.truelicense.api.auth.RepositoryFactory;
+import global.namespace.truelicense.api.codec.Codec;
+
+/**
+ * A repository factory for use with V5/Binary format license keys.
+ */
+final class V5BinaryRepositoryFactory implements RepositoryFactory<V5BinaryRepositoryModel> {
+
+    @Override
+    public V5BinaryRepositoryModel model() {
+        return new V5BinaryRepositoryModel();
+    }
+
+    @Override
+    public Class<V5BinaryRepositoryModel> modelClass() {
+        return V5BinaryRepositoryModel.class;
+    }
+
+    @Override
+    public RepositoryController controller(Codec codec, V5BinaryRepositoryModel model) {
+        return new V5BinaryRepositoryController(codec, model);
+    }
+}
@@ -0,0 +1,16 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.v5.binary;
+
+/**
+ * A repository model for use with V5/Binary format license keys.
+ * Unlike the repository models of the text based formats, the encoded artifact and its signature are stored as raw
+ * bytes.
+ */
+final class V5BinaryRepositoryModel {
+
+    String algorithm;
+    byte[] artifact, signature;
+}
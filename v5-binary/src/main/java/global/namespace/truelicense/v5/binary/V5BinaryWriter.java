@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.v5.binary;
+
+import javax.security.auth.x500.X500Principal;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Writes the fields of an object in the V5/Binary format.
+ * Fields with a {@code null} value are omitted.
+ * This class is not thread-safe.
+ *
+ * @see V5BinaryReader
+ */
+final class V5BinaryWriter {
+
+    static final int END = 0;
+
+    // Value types:
+    static final int NULL = 0, FALSE = 1, TRUE = 2, INT = 3, LONG = 4, DOUBLE = 5, STRING = 6, LIST = 7, MAP = 8;
+
+    // The maximum nesting depth of lists and maps in a value, which bounds the recursion when reading it.
+    static final int MAX_DEPTH = 32;
+
+    private final ByteArrayOutputStream payload = new ByteArrayOutputStream(256);
+    private final OutputStream out;
+
+    V5BinaryWriter(final OutputStream out) { this.out = out; }
+
+    void header(final int kind) throws IOException {
+        out.write(kind);
+        out.write(V5BinaryCodec.VERSION);
+    }
+
+    void end() throws IOException { out.write(END); }
+
+    void number(final int tag, final long value) throws IOException {
+        payload.reset();
+        zigzag(payload, value);
+        field(tag);
+    }
+
+    void string(final int tag, final String value) throws IOException {
+        if (null != value) {
+            bytes(tag, value.getBytes(UTF_8));
+        }
+    }
+
+    void principal(final int tag, final X500Principal value) throws IOException {
+        if (null != value) {
+            string(tag, value.getName());
+        }
+    }
+
+    void date(final int tag, final Date value) throws IOException {
+        if (null != value) {
+            number(tag, value.getTime());
+        }
+    }
+
+    void bytes(final int tag, final byte[] value) throws IOException {
+        if (null != value) {
+            out.write(tag);
+            varint(out, value.length);
+            out.write(value);
+        }
+    }
+
+    void value(final int tag, final Object value) throws IOException {
+        if (null != value) {
+            payload.reset();
+            value(payload, value, 0);
+            field(tag);
+        }
+    }
+
+    private void field(final int tag) throws IOException {
+        out.write(tag);
+        varint(out, payload.size());
+        payload.writeTo(out);
+    }
+
+    private static void value(final OutputStream out, final Object value, final int depth) throws IOException {
+        if ((value instanceof List || value instanceof Map) && MAX_DEPTH <= depth) {
+            throw new IllegalArgumentException("Extra data nested too deeply");
+        }
+        if (null == value) {
+            out.write(NULL);
+        } else if (value instanceof Boolean) {
+            out.write((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof Integer) {
+            out.write(INT);
+            zigzag(out, (Integer) value);
+        } else if (value instanceof Long) {
+            out.write(LONG);
+            zigzag(out, (Long) value);
+        } else if (value instanceof Double) {
+            out.write(DOUBLE);
+            final long bits = Double.doubleToLongBits((Double) value);
+            for (int shift = 56; 0 <= shift; shift -= 8) {
+                out.write((int) (bits >>> shift));
+            }
+        } else if (value instanceof String) {
+            out.write(STRING);
+            string(out, (String) value);
+        } else if (value instanceof List) {
+            final List<?> list = (List<?>) value;
+            out.write(LIST);
+            varint(out, list.size());
+            for (Object element : list) {
+                value(out, element, depth + 1);
+            }
+        } else if (value instanceof Map) {
+            final Map<?, ?> map = (Map<?, ?>) value;
+            out.write(MAP);
+            varint(out, map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                final Object key = entry.getKey();
+                if (!(key instanceof String)) {
+                    throw new IllegalArgumentException("Unsupported type of map key: " + typeOf(key));
+                }
+                string(out, (String) key);
+                value(out, entry.getValue(), depth + 1);
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported type of extra data: " + typeOf(value));
+        }
+    }
+
+    private static Object typeOf(Object obj) { return null != obj ? obj.getClass() : null; }
+
+    private static void string(final OutputStream out, final String value) throws IOException {
+        final byte[] bytes = value.getBytes(UTF_8);
+        varint(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static void zigzag(OutputStream out, long value) throws IOException {
+        varint(out, (value << 1) ^ (value >> 63));
+    }
+
+    /** Writes the given value as an unsigned variable-length integer with seven bits per byte. */
+    private static void varint(final OutputStream out, long value) throws IOException {
+        while (0 != (value & ~0x7fL)) {
+            out.write((int) (value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
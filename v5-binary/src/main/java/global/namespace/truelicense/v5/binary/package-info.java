@@ -0,0 +1,9 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+
+/**
+ * Provides support for the V5/Binary license key format.
+ */
+package global.namespace.truelicense.v5.binary;
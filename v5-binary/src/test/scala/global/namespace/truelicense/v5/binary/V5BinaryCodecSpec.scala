@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.v5.binary
+
+import global.namespace.fun.io.bios.BIOS.memory
+import global.namespace.truelicense.api.License
+import global.namespace.truelicense.v5.binary.V5BinaryCodecSpec._
+import org.scalatest.matchers.should.Matchers._
+import org.scalatest.wordspec.AnyWordSpec
+
+import java.io.{IOException, StreamCorruptedException}
+import java.util.{Arrays, Collections, Date, LinkedHashMap}
+import javax.security.auth.x500.X500Principal
+
+class V5BinaryCodecSpec extends AnyWordSpec {
+
+  "A V5/Binary codec" should {
+    "decode an encoded license" in {
+      decode(encode(license)) shouldBe license
+    }
+
+    "decode an encoded repository model" in {
+      val model = new V5BinaryRepositoryModel
+      model.algorithm = "SHA256withRSA"
+      model.artifact = Array[Byte](1, 2, 3)
+      model.signature = Array[Byte](4, 5, 6)
+      val decoded = decode(encode(model), classOf[V5BinaryRepositoryModel])
+      decoded.algorithm shouldBe model.algorithm
+      decoded.artifact shouldBe model.artifact
+      decoded.signature shouldBe model.signature
+    }
+
+    "reject any truncated encoding with an I/O exception" in {
+      val encoded = encode(license)
+      for (length <- 0 until encoded.length) {
+        intercept[IOException](decode(Arrays.copyOf(encoded, length)))
+      }
+    }
+
+    "skip fields with an unknown tag" in {
+      val encoded = encode(license)
+      val unknown = Array[Byte](99, 2, 0xab.toByte, 0xcd.toByte)
+      decode(encoded.take(2) ++ unknown ++ encoded.drop(2)) shouldBe license
+    }
+
+    "reject an unsupported version" in {
+      val encoded = encode(license)
+      encoded(1) = (V5BinaryCodec.VERSION + 1).toByte
+      intercept[StreamCorruptedException](decode(encoded))
+    }
+
+    "reject an encoded repository model when decoding a license" in {
+      val model = new V5BinaryRepositoryModel
+      model.algorithm = "SHA256withRSA"
+      intercept[StreamCorruptedException](decode(encode(model)))
+    }
+
+    "reject extra data which is nested too deeply when encoding" in {
+      val bean = license
+      bean setExtra nested(V5BinaryWriter.MAX_DEPTH + 1)
+      intercept[IllegalArgumentException](encode(bean))
+    }
+
+    "decode extra data which is nested up to the maximum depth" in {
+      val bean = license
+      bean setExtra nested(V5BinaryWriter.MAX_DEPTH)
+      decode(encode(bean)) shouldBe bean
+    }
+  }
+}
+
+private object V5BinaryCodecSpec {
+
+  private val codec = new V5BinaryCodec
+
+  def encode(obj: AnyRef): Array[Byte] = {
+    val store = memory
+    codec encoder store encode obj
+    store.content
+  }
+
+  def decode(bytes: Array[Byte]): License = decode(bytes, classOf[V5BinaryLicense])
+
+  def decode[T](bytes: Array[Byte], expected: Class[T]): T = {
+    val store = memory
+    store content bytes
+    codec decoder store decode expected
+  }
+
+  def license: License = {
+    val principal = new X500Principal("CN=Christian Schlichtherle")
+    val extra = new LinkedHashMap[String, AnyRef]
+    extra.put("list", Arrays.asList[AnyRef]("a", Integer.valueOf(1), java.lang.Long.valueOf(2L), null))
+    extra.put("flag", java.lang.Boolean.TRUE)
+    val l = new V5BinaryLicense
+    l setConsumerAmount 2
+    l setConsumerType "User"
+    l setExtra extra
+    l setHolder principal
+    l setInfo "Hello, world!"
+    l setIssued new Date(0)
+    l setIssuer principal
+    l setNotAfter new Date(2000)
+    l setNotBefore new Date(1000)
+    l setSubject "subject"
+    l
+  }
+
+  /** Returns the given number of alternately nested maps and lists around a string. */
+  def nested(depth: Int): AnyRef = {
+    if (0 == depth) "leaf"
+    else if (0 == depth % 2) Collections.singletonMap("k", nested(depth - 1))
+    else Collections.singletonList(nested(depth - 1))
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2005 - 2019 Schlichtherle IT Services.
+ * All rights reserved. Use is subject to license terms.
+ */
+package global.namespace.truelicense.v5.binary
+
+import global.namespace.truelicense.v5.binary.V5BinaryReaderSpec._
+import global.namespace.truelicense.v5.binary.V5BinaryWriter._
+import org.scalatest.matchers.should.Matchers._
+import org.scalatest.wordspec.AnyWordSpec
+
+import java.io.{ByteArrayInputStream, EOFException, StreamCorruptedException}
+
+class V5BinaryReaderSpec extends AnyWordSpec {
+
+  "A V5/Binary reader" should {
+    "read the kind of an object from its header" in {
+      reader('L', 1, END).header shouldBe 'L'.toInt
+    }
+
+    "reject an unsupported version" in {
+      intercept[StreamCorruptedException](reader('L', V5BinaryCodec.VERSION + 1, END).header)
+    }
+
+    "reject a truncated header" in {
+      intercept[EOFException](reader('L').header)
+    }
+
+    "reject a truncated field" in {
+      val r = reader('L', 1, 5, 3, 'a', 'b')
+      r.header
+      intercept[EOFException](r.tag)
+    }
+
+    "reject a missing end" in {
+      val r = reader('L', 1, 5, 1, 'a')
+      r.header
+      r.tag shouldBe 5
+      r.string shouldBe "a"
+      intercept[EOFException](r.tag)
+    }
+
+    "reject an oversized variable-length integer" in {
+      val r = reader(Seq[Int]('L', 1, 5) ++ Seq.fill(10)(0xff) ++ Seq(0): _*)
+      r.header
+      intercept[StreamCorruptedException](r.tag)
+    }
+
+    "reject a field size which decodes to a negative number" in {
+      val r = reader(Seq[Int]('L', 1, 5) ++ Seq.fill(9)(0xff) ++ Seq(0x01): _*)
+      r.header
+      intercept[StreamCorruptedException](r.tag)
+    }
+
+    "skip a field with an unknown tag" in {
+      val r = reader('L', 1, 99, 2, 0xab, 0xcd, 5, 1, 'a', END)
+      r.header
+      r.tag shouldBe 99
+      r.tag shouldBe 5
+      r.string shouldBe "a"
+      r.tag shouldBe END
+    }
+
+    "reject an integer value which is out of range" in {
+      val r = field(INT, 0x80, 0x80, 0x80, 0x80, 0x10) // zigzag encoding of 2^31
+      intercept[StreamCorruptedException](r.value)
+    }
+
+    "reject a value of an unknown type" in {
+      intercept[StreamCorruptedException](field(99).value)
+    }
+
+    "reject a list with more elements than its field" in {
+      intercept[EOFException](field(LIST, 3, NULL).value)
+    }
+
+    "read lists and maps up to the maximum depth" in {
+      field(nested(MAX_DEPTH): _*).value shouldBe expected(MAX_DEPTH)
+    }
+
+    "reject lists and maps which are nested too deeply" in {
+      intercept[StreamCorruptedException](field(nested(MAX_DEPTH + 1): _*).value)
+    }
+  }
+}
+
+private object V5BinaryReaderSpec {
+
+  def reader(bytes: Int*): V5BinaryReader =
+    V5BinaryReader of new ByteArrayInputStream(bytes.map(_.toByte).toArray)
+
+  /** Returns a reader which is positioned at the payload of the field with the given payload. */
+  def field(payload: Int*): V5BinaryReader = {
+    val r = reader(Seq[Int]('L', 1, EXTRA, payload.size) ++ payload ++ Seq(END): _*)
+    r.header
+    r.tag
+    r
+  }
+
+  /** Returns the encoding of the given number of alternately nested maps and lists around a null value. */
+  def nested(depth: Int): Seq[Int] = {
+    if (0 == depth) Seq(NULL)
+    else if (0 == depth % 2) Seq(MAP, 1, 1, 'k') ++ nested(depth - 1)
+    else Seq(LIST, 1) ++ nested(depth - 1)
+  }
+
+  def expected(depth: Int): AnyRef = {
+    if (0 == depth) null
+    else if (0 == depth % 2) java.util.Collections.singletonMap("k", expected(depth - 1))
+    else java.util.Collections.singletonList(expected(depth - 1))
+  }
+
+  private val EXTRA = 3
+}